@@ -23,6 +23,8 @@ function statusLabel(status: GenerationJobStatus['status']): string {
       return 'Generating…';
     case 'COMPLETED':
       return 'Complete';
+    case 'COMPLETED_WITH_ERRORS':
+      return 'Complete with errors';
     case 'CANCELLED':
       return 'Cancelled';
     case 'FAILED':
@@ -36,6 +38,7 @@ function statusClass(status: GenerationJobStatus['status']): string {
   switch (status) {
     case 'COMPLETED':
       return 'bg-success';
+    case 'COMPLETED_WITH_ERRORS':
     case 'CANCELLED':
       return 'bg-warning';
     case 'FAILED':
@@ -109,7 +112,7 @@ export default function GenerationProgress({
             className={`alert mt-3 mb-0 py-2 ${
               status.status === 'FAILED'
                 ? 'alert-danger'
-                : status.status === 'CANCELLED'
+                : status.status === 'CANCELLED' || status.status === 'COMPLETED_WITH_ERRORS'
                   ? 'alert-warning'
                   : 'alert-success'
             }`}
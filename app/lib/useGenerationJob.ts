@@ -6,7 +6,7 @@ import { getUserId } from './utils';
 
 const POLL_INTERVAL_MS = 750;
 const MAX_BACKOFF_MS = 5000;
-const TERMINAL_STATUSES: GenerationStatus[] = ['COMPLETED', 'CANCELLED', 'FAILED'];
+const TERMINAL_STATUSES: GenerationStatus[] = ['COMPLETED', 'COMPLETED_WITH_ERRORS', 'CANCELLED', 'FAILED'];
 
 export interface UseGenerationJobResult {
   status: GenerationJobStatus | null;
@@ -102,7 +102,7 @@ export interface GenerateDataRequest {
     connection?: DatabaseConnection;
 }
 
-export type GenerationStatus = 'RUNNING' | 'COMPLETED' | 'CANCELLED' | 'FAILED';
+export type GenerationStatus = 'RUNNING' | 'COMPLETED' | 'COMPLETED_WITH_ERRORS' | 'CANCELLED' | 'FAILED';
 
 export interface GenerationJobStatus {
     jobId: string;
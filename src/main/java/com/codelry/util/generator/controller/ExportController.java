@@ -0,0 +1,51 @@
+package com.codelry.util.generator.controller;
+
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.StartGenerationResponse;
+import com.codelry.util.generator.service.GenerationJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/generate")
+public class ExportController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+  private final GenerationJobService generationJobService;
+
+  public ExportController(GenerationJobService generationJobService) {
+    this.generationJobService = generationJobService;
+  }
+
+  @PostMapping("/file")
+  public ResponseEntity<StartGenerationResponse> generate(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @RequestParam(value = "directory", defaultValue = "") String directory,
+      @RequestParam(value = "format", defaultValue = "ndjson") String format,
+      @RequestParam(value = "compression", defaultValue = "none") String compression,
+      @RequestBody EntityCollection schema) {
+    logger.info("Starting {} file export for schema collection {} (tables: {}) compression={}",
+        format, schema.getName(), schema.getEntities() != null ? schema.getEntities().size() : 0, compression);
+    StartGenerationResponse response =
+        generationJobService.startFileExportJob(userId, schema, directory, format, compression);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+  }
+
+  @PostMapping("/columnar")
+  public ResponseEntity<StartGenerationResponse> generateColumnar(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @RequestParam(value = "directory", defaultValue = "") String directory,
+      @RequestParam(value = "formats", defaultValue = "arrow") List<String> formats,
+      @RequestBody EntityCollection schema) {
+    logger.info("Starting {} columnar export for schema collection {} (tables: {})",
+        formats, schema.getName(), schema.getEntities() != null ? schema.getEntities().size() : 0);
+    StartGenerationResponse response =
+        generationJobService.startColumnarExportJob(userId, schema, directory, formats);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+  }
+}
@@ -28,4 +28,18 @@ public class GenerationJobController {
       @PathVariable String jobId) {
     return ResponseEntity.ok(generationJobService.cancelJob(userId, jobId));
   }
+
+  @PostMapping("/{jobId}/redrive")
+  public ResponseEntity<GenerationJobStatus> redrive(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @PathVariable String jobId) {
+    return ResponseEntity.accepted().body(generationJobService.redriveJob(userId, jobId));
+  }
+
+  @DeleteMapping("/{jobId}")
+  public ResponseEntity<GenerationJobStatus> close(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @PathVariable String jobId) {
+    return ResponseEntity.ok(generationJobService.closeJob(userId, jobId));
+  }
 }
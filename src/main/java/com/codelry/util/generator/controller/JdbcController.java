@@ -0,0 +1,35 @@
+package com.codelry.util.generator.controller;
+
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.JdbcGenerationRequest;
+import com.codelry.util.generator.dto.StartGenerationResponse;
+import com.codelry.util.generator.service.GenerationJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/generate")
+public class JdbcController {
+
+  private static final Logger logger = LoggerFactory.getLogger(JdbcController.class);
+  private final GenerationJobService generationJobService;
+
+  public JdbcController(GenerationJobService generationJobService) {
+    this.generationJobService = generationJobService;
+  }
+
+  @PostMapping("/jdbc")
+  public ResponseEntity<StartGenerationResponse> generate(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @RequestBody JdbcGenerationRequest request) {
+    EntityCollection schema = request.getSchema();
+    logger.info("Starting JDBC generation for schema collection {} (tables: {})",
+        schema != null ? schema.getName() : null,
+        schema != null && schema.getEntities() != null ? schema.getEntities().size() : 0);
+    StartGenerationResponse response = generationJobService.startJdbcJob(userId, request);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+  }
+}
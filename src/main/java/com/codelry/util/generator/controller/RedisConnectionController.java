@@ -29,6 +29,13 @@ public class RedisConnectionController {
       config.setPort(parameters.getPort());
       config.setPassword(parameters.getPassword());
       config.setUseJson(parameters.isUseJson());
+      config.setUseCluster(parameters.isUseCluster());
+      config.setUsePipeline(parameters.isUsePipeline());
+      config.setPipelineConnections(parameters.getPipelineConnections());
+      config.setPipelineBatchSize(parameters.getPipelineBatchSize());
+      config.setJsonConnections(parameters.getJsonConnections());
+      config.setJsonDispatch(parameters.getJsonDispatch());
+      config.setJsonMSetSize(parameters.getJsonMSetSize());
       redisConnectionManager.connect(userId, config);
       return ResponseEntity.ok(Map.of(
           "status", "connected",
@@ -3,12 +3,15 @@ package com.codelry.util.generator.controller;
 import com.codelry.util.generator.dto.EntityCollection;
 import com.codelry.util.generator.dto.StartGenerationResponse;
 import com.codelry.util.generator.service.GenerationJobService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/generate")
 public class RedisController {
@@ -29,4 +32,14 @@ public class RedisController {
     StartGenerationResponse response = generationJobService.startRedisJob(userId, schema);
     return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
   }
+
+  @PostMapping("/redis/keyspaces")
+  public ResponseEntity<StartGenerationResponse> generateKeyspaces(
+      @RequestHeader(value = "X-User-Id") String userId,
+      @RequestParam(value = "count", defaultValue = "1000") long count,
+      @RequestBody List<JsonNode> keyspaces) {
+    logger.info("Starting Redis keyspace generation for {} keyspaces with {} documents each", keyspaces.size(), count);
+    StartGenerationResponse response = generationJobService.startRedisKeyspaceJob(userId, keyspaces, count);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+  }
 }
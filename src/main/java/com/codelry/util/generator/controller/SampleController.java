@@ -1,22 +1,29 @@
 package com.codelry.util.generator.controller;
 
 import com.codelry.util.generator.driver.JsonData;
+import com.codelry.util.generator.driver.NdjsonStream;
 import com.codelry.util.generator.dto.EntityCollection;
 import com.codelry.util.generator.dto.GenerateResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/generate")
 public class SampleController {
   private static final Logger logger = LoggerFactory.getLogger(SampleController.class);
+  private static final int STREAM_BATCH_SIZE = 1000;
 
   public SampleController() {}
 
@@ -44,4 +51,51 @@ public class SampleController {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
   }
+
+  @PostMapping(value = "/stream", produces = "application/x-ndjson")
+  public void stream(@RequestBody EntityCollection schema,
+                     @RequestParam(value = "count", required = false) Long count,
+                     @RequestParam(value = "gzip", required = false) Boolean gzip,
+                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                     HttpServletResponse response) throws IOException {
+    if (schema.getEntities() == null || schema.getEntities().isEmpty()) {
+      response.sendError(HttpStatus.BAD_REQUEST.value(), "Schema has no entities");
+      return;
+    }
+    boolean compress = gzip != null ? gzip : acceptEncoding != null && acceptEncoding.contains("gzip");
+    response.setContentType("application/x-ndjson");
+    response.setCharacterEncoding("UTF-8");
+    if (compress) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    OutputStream out = compress
+        ? new GZIPOutputStream(response.getOutputStream(), 65536, true)
+        : response.getOutputStream();
+
+    NdjsonStream driver = new NdjsonStream(out);
+    if (count != null) {
+      driver.init(schema, 1, count);
+    } else {
+      driver.init(schema, 1);
+    }
+    driver.setBatchSize(STREAM_BATCH_SIZE);
+    logger.info("Streaming {} records for schema collection {} gzip={}",
+        driver.computeTotalRecords(), schema.getName(), compress);
+    try {
+      driver.generate();
+      if (out instanceof GZIPOutputStream gzipOut) {
+        gzipOut.finish();
+      }
+      out.flush();
+      logger.info("Streamed {} records for schema collection {}", driver.getWritten(), schema.getName());
+    } catch (RuntimeException e) {
+      if (!driver.isClosed()) {
+        logger.error("Stream for schema collection {} failed after {} records", schema.getName(), driver.getWritten(), e);
+        throw e;
+      }
+      logger.info("Client closed stream for schema collection {} after {} records", schema.getName(), driver.getWritten());
+    } finally {
+      driver.cleanup();
+    }
+  }
 }
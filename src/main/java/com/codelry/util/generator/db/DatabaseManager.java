@@ -6,131 +6,120 @@ import org.sqlite.SQLiteConfig;
 
 import java.net.URL;
 import java.sql.*;
-import java.text.DecimalFormat;
 import java.util.*;
 
 public class DatabaseManager {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseManager.class);
-  private static DatabaseManager instance;
-  public static long nameCount;
-  public static long addressCount;
-  public static long productCount;
-  public static long airportCount;
-  public static long airlineCount;
-  public static List<NameRecord> nameList = new ArrayList<>();
-  public static List<AddressRecord> addressList = new ArrayList<>();
-  public static List<ProductRecord> productList = new ArrayList<>();
-  public static Map<String, List<String>> areaCodeList = new HashMap<>();
-  public static Map<String, List<StateRecord>> stateList = new HashMap<>();
-  public static LinkedHashMap<String, Double> stateMap = new LinkedHashMap<>();
-  public static Map<String, Integer> nameLengthMap = new HashMap<>();
-  public static Map<String, Integer> addressLengthMap = new HashMap<>();
-  public static Map<String, Integer> productLengthMap = new HashMap<>();
-  public static List<AirportRecord> airportList = new ArrayList<>();
-  public static List<AirlineRecord> airlineList = new ArrayList<>();
-
-  private DatabaseManager() {}
+  private final ReferenceStore store;
+
+  private static class Holder {
+    private static final DatabaseManager INSTANCE = new DatabaseManager(load());
+  }
+
+  private DatabaseManager(ReferenceStore store) {
+    this.store = store;
+  }
 
   public static DatabaseManager getInstance() {
-    if (instance == null) {
-      instance = new DatabaseManager();
-      instance.init();
+    return Holder.INSTANCE;
+  }
+
+  public ReferenceStore getStore() {
+    return store;
+  }
+
+  private static ReferenceStore load() {
+    return load(DatabaseManager.class.getClassLoader());
+  }
+
+  public static ReferenceStore load(ClassLoader loader) {
+    URL snapshot = loader.getResource(ReferenceSnapshot.RESOURCE);
+    if (snapshot != null) {
+      try {
+        long start = System.nanoTime();
+        ReferenceStore store = ReferenceSnapshot.load(snapshot);
+        LOGGER.debug("Reference snapshot loaded in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return store;
+      } catch (Exception e) {
+        LOGGER.warn("Can not load reference snapshot, falling back to database: {}", e.getMessage());
+      }
     }
-    return instance;
-  }
-
-  public void init() {
-    try {
-      SQLiteConfig config = new SQLiteConfig();
-      Properties properties = config.toProperties();
-      URL sourceDb = DatabaseManager.class.getClassLoader().getResource("data/source.db");
-      Connection conn = DriverManager.getConnection("jdbc:sqlite:" + Objects.requireNonNull(sourceDb).getPath(), properties);
-      buildNameList(conn);
-      buildAddressList(conn);
-      buildProductList(conn);
-      buildAreaCodeList(conn);
-      buildStateList(conn);
-      buildStateMap(conn);
-      buildNameLengthMap(conn);
-      buildAddressLengthMap(conn);
-      buildProductLengthMap(conn);
-      buildAirportList(conn);
-      buildAirlineList(conn);
-      nameCount = getNameCount();
-      addressCount = getAddressCount();
-      productCount = getProductCount();
-      airportCount = getAirportCount();
-      airlineCount = getAirlineCount();
-      conn.close();
+    URL sourceDb = loader.getResource("data/source.db");
+    return loadDatabase("jdbc:sqlite:" + Objects.requireNonNull(sourceDb).getPath());
+  }
+
+  public static ReferenceStore loadDatabase(String url) {
+    SQLiteConfig config = new SQLiteConfig();
+    Properties properties = config.toProperties();
+    try (Connection conn = DriverManager.getConnection(url, properties)) {
+      ReferenceStore.Builder builder = ReferenceStore.builder();
+      buildNameList(conn, builder);
+      buildAddressList(conn, builder);
+      buildProductList(conn, builder);
+      buildAreaCodeList(conn, builder);
+      buildStateList(conn, builder);
+      buildStateMap(conn, builder);
+      buildNameLengthMap(conn, builder);
+      buildAddressLengthMap(conn, builder);
+      buildProductLengthMap(conn, builder);
+      buildAirportList(conn, builder);
+      buildAirlineList(conn, builder);
+      ReferenceStore store = builder.build();
       LOGGER.debug("Database initialized");
+      return store;
     } catch (SQLException e) {
       throw new RuntimeException(e);
     }
   }
 
   public long getNameCount() {
-    return nameList.size();
+    return store.getNameCount();
   }
 
   public long getAddressCount() {
-    return addressList.size();
+    return store.getAddressCount();
   }
 
   public long getProductCount() {
-    return productList.size();
+    return store.getProductCount();
   }
 
   public long getAirportCount() {
-    return airportList.size();
+    return store.getAirportCount();
   }
 
   public long getAirlineCount() {
-    return airlineList.size();
+    return store.getAirlineCount();
   }
 
-  public void buildNameList(Connection conn) {
+  private static void buildNameList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT first, last, gender FROM names";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        nameList.add(new NameRecord(
-            rs.getString("first"),
-            rs.getString("last"),
-            rs.getString("gender")
-        ));
+        builder.addName(rs.getString("first"), rs.getString("last"), rs.getString("gender"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildAddressList(Connection conn) {
+  private static void buildAddressList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT number, street, city, state, zip FROM addresses";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        addressList.add(new AddressRecord(
+        builder.addAddress(
             rs.getString("number"),
             rs.getString("street"),
             rs.getString("city"),
             rs.getString("state"),
-            rs.getString("zip")
-        ));
+            rs.getString("zip"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildProductList(Connection conn) {
+  private static void buildProductList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT department, manufacturer, category, subcategory, sku, name, seasonal, price, cost FROM products";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        productList.add(new ProductRecord(
+        builder.addProduct(new ProductRecord(
             rs.getString("department"),
             rs.getString("manufacturer"),
             rs.getString("category"),
@@ -142,221 +131,144 @@ public class DatabaseManager {
             rs.getFloat("cost")
         ));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildAreaCodeList(Connection conn) {
+  private static void buildAreaCodeList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT state, code FROM areacodes";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        String state = rs.getString("state");
-        String code = rs.getString("code");
-        if (!areaCodeList.containsKey(state)) {
-          areaCodeList.put(state, new ArrayList<>());
-        }
-        areaCodeList.get(state).add(code);
+        builder.addAreaCode(rs.getString("state"), rs.getString("code"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildStateList(Connection conn) {
-    String getStates = "SELECT DISTINCT state FROM zipcodes";
-    String getStateRecords = "SELECT * FROM zipcodes WHERE state = ?";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(getStates);
+  private static void buildStateList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
+    String sql = "SELECT city, state, zip, plusfour FROM zipcodes ORDER BY state, id";
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        String state = rs.getString("state");
-        PreparedStatement pstmt = conn.prepareStatement(getStateRecords);
-        pstmt.setString(1, state);
-        ResultSet stateRs = pstmt.executeQuery();
-        List<StateRecord> results = new ArrayList<>();
-        while (stateRs.next()) {
-          results.add(new StateRecord(
-              stateRs.getString("city"),
-              stateRs.getString("state"),
-              stateRs.getString("zip"),
-              stateRs.getString("plusfour")
-          ));
-        }
-        stateList.put(state, results);
+        builder.addZipCode(rs.getString("state"), rs.getString("city"), rs.getString("zip"), rs.getString("plusfour"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public static <K, V extends Comparable<? super V>> LinkedHashMap<K, V> sortByValue(Map<K, V> map) {
-    List<Map.Entry<K, V>> list = new ArrayList<>(map.entrySet());
-    list.sort(Map.Entry.comparingByValue());
-
-    LinkedHashMap<K, V> result = new LinkedHashMap<>();
-    for (Map.Entry<K, V> entry : list) {
-      result.put(entry.getKey(), entry.getValue());
-    }
-    return result;
-  }
-
-  public void buildStateMap(Connection conn) {
+  private static void buildStateMap(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT state, weight FROM states";
-    Map<String, Double> states = new HashMap<>();
-    double totalWeight = 0.0;
-    DecimalFormat df = new DecimalFormat("#.####");
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        String state = rs.getString("state");
-        double weight = rs.getDouble("weight");
-        states.put(state, weight);
-      }
-      stateMap = sortByValue(states);
-      for (Map.Entry<String, Double> entry : stateMap.entrySet()) {
-        totalWeight += entry.getValue();
-        stateMap.replace(entry.getKey(), Double.valueOf(df.format(totalWeight)));
+        builder.addStateWeight(rs.getString("state"), rs.getDouble("weight"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildNameLengthMap(Connection conn) {
-    try {
-      Statement stmt = conn.createStatement();
-      int firstLength = stmt.executeQuery("SELECT MAX(LENGTH(first)) FROM names").getInt(1);
-      int lastLength = stmt.executeQuery("SELECT MAX(LENGTH(last)) FROM names").getInt(1);
-      nameLengthMap.put("first", firstLength);
-      nameLengthMap.put("last", lastLength);
-      nameLengthMap.put("fullName", firstLength + lastLength + 1);
-      nameLengthMap.put("emailAddress", firstLength + lastLength + 1 + 12);
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
+  private static int maxLength(Statement stmt, String sql) throws SQLException {
+    try (ResultSet rs = stmt.executeQuery(sql)) {
+      return rs.getInt(1);
     }
   }
 
-  public void buildAddressLengthMap(Connection conn) {
-    try {
-      Statement stmt = conn.createStatement();
-      int streetLength = stmt.executeQuery("SELECT MAX(LENGTH(street)) FROM addresses").getInt(1);
-      int cityLength = stmt.executeQuery("SELECT MAX(LENGTH(city)) FROM zipcodes").getInt(1);
-      int stateLength = stmt.executeQuery("SELECT MAX(LENGTH(state)) FROM zipcodes").getInt(1);
-      int zipLength = stmt.executeQuery("SELECT MAX(LENGTH(zip)) FROM zipcodes").getInt(1);
-      addressLengthMap.put("street", streetLength);
-      addressLengthMap.put("city", cityLength);
-      addressLengthMap.put("state", stateLength);
-      addressLengthMap.put("zip", zipLength);
-      addressLengthMap.put("streetAddress", 6 + streetLength);
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
+  private static void buildNameLengthMap(Connection conn, ReferenceStore.Builder builder) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      int firstLength = maxLength(stmt, "SELECT MAX(LENGTH(first)) FROM names");
+      int lastLength = maxLength(stmt, "SELECT MAX(LENGTH(last)) FROM names");
+      builder.setLength("name.first", firstLength);
+      builder.setLength("name.last", lastLength);
+      builder.setLength("name.fullName", firstLength + lastLength + 1);
+      builder.setLength("name.emailAddress", firstLength + lastLength + 1 + 12);
     }
   }
 
-  public void buildProductLengthMap(Connection conn) {
-    try {
-      Statement stmt = conn.createStatement();
-      int nameLength = stmt.executeQuery("SELECT MAX(LENGTH(name)) FROM products").getInt(1);
-      int manufacturerLength = stmt.executeQuery("SELECT MAX(LENGTH(manufacturer)) FROM products").getInt(1);
-      int categoryLength = stmt.executeQuery("SELECT MAX(LENGTH(category)) FROM products").getInt(1);
-      int subcategoryLength = stmt.executeQuery("SELECT MAX(LENGTH(subcategory)) FROM products").getInt(1);
-      int skuLength = stmt.executeQuery("SELECT MAX(LENGTH(sku)) FROM products").getInt(1);
-      int departmentLength = stmt.executeQuery("SELECT MAX(LENGTH(department)) FROM products").getInt(1);
-      productLengthMap.put("name", nameLength);
-      productLengthMap.put("manufacturer", manufacturerLength);
-      productLengthMap.put("category", categoryLength);
-      productLengthMap.put("subcategory", subcategoryLength);
-      productLengthMap.put("sku", skuLength);
-      productLengthMap.put("department", departmentLength);
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
+  private static void buildAddressLengthMap(Connection conn, ReferenceStore.Builder builder) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      int streetLength = maxLength(stmt, "SELECT MAX(LENGTH(street)) FROM addresses");
+      builder.setLength("address.street", streetLength);
+      builder.setLength("address.city", maxLength(stmt, "SELECT MAX(LENGTH(city)) FROM zipcodes"));
+      builder.setLength("address.state", maxLength(stmt, "SELECT MAX(LENGTH(state)) FROM zipcodes"));
+      builder.setLength("address.zip", maxLength(stmt, "SELECT MAX(LENGTH(zip)) FROM zipcodes"));
+      builder.setLength("address.streetAddress", 6 + streetLength);
     }
   }
 
-  public void buildAirportList(Connection conn) {
+  private static void buildProductLengthMap(Connection conn, ReferenceStore.Builder builder) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      for (String field : List.of("name", "manufacturer", "category", "subcategory", "sku", "department")) {
+        builder.setLength("product." + field, maxLength(stmt, "SELECT MAX(LENGTH(" + field + ")) FROM products"));
+      }
+    }
+  }
+
+  private static void buildAirportList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT code, city, name FROM airports";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        String code = rs.getString("code");
-        String city = rs.getString("city");
-        String name = rs.getString("name");
-        airportList.add(new AirportRecord(code, city, name));
+        builder.addAirport(rs.getString("code"), rs.getString("city"), rs.getString("name"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public void buildAirlineList(Connection conn) {
+  private static void buildAirlineList(Connection conn, ReferenceStore.Builder builder) throws SQLException {
     String sql = "SELECT code, name FROM airlines";
-    try {
-      Statement stmt = conn.createStatement();
-      ResultSet rs = stmt.executeQuery(sql);
+    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
       while (rs.next()) {
-        String code = rs.getString("code");
-        String name = rs.getString("name");
-        airlineList.add(new AirlineRecord(code, name));
+        builder.addAirline(rs.getString("code"), rs.getString("name"));
       }
-    } catch (SQLException e) {
-      throw new RuntimeException(e);
     }
   }
 
-  public String getState(double weight) {
-    return stateMap.entrySet().stream()
-        .filter(entry -> entry.getValue() >= weight)
-        .findFirst()
-        .map(Map.Entry::getKey)
-        .orElseThrow(() -> new RuntimeException("No state found for weight " + weight));
-  }
-
   public NameRecord getNameById(int id) {
-    return nameList.get(id - 1);
+    return store.getNameRecord(id - 1, id - 1);
   }
 
   public AddressRecord getAddressById(int id) {
-    return addressList.get(id - 1);
+    return store.getAddressRecord(id - 1);
   }
 
   public ProductRecord getProductById(int id) {
-    return productList.get(id - 1);
+    return store.getProduct(id - 1);
   }
 
   public String getStreetNameById(int id) {
-    return addressList.get(id - 1).street;
+    return store.getStreet(id - 1);
   }
 
   public List<StateRecord> getStateRecordsByState(String state) {
-    return stateList.getOrDefault(state, new ArrayList<>());
+    int index = store.getStateIndex(state);
+    if (index < 0) {
+      return new ArrayList<>();
+    }
+    List<StateRecord> records = new ArrayList<>(store.getStateRecordCount(index));
+    for (int i = 0; i < store.getStateRecordCount(index); i++) {
+      records.add(store.getStateRecord(index, i));
+    }
+    return records;
   }
 
   public List<String> getAreaCodesByState(String state) {
-    return areaCodeList.getOrDefault(state, new ArrayList<>());
+    int index = store.getStateIndex(state);
+    List<String> codes = new ArrayList<>(store.getAreaCodeCount(index));
+    for (int i = 0; i < store.getAreaCodeCount(index); i++) {
+      codes.add(store.getAreaCode(index, i));
+    }
+    return codes;
   }
 
   public int getNameFieldLength(String field) {
-    return nameLengthMap.getOrDefault(field, 16);
+    return store.getLength("name." + field, 16);
   }
 
   public int getAddressFieldLength(String field) {
-    return addressLengthMap.getOrDefault(field, 128);
+    return store.getLength("address." + field, 128);
   }
 
   public int getProductFieldLength(String field) {
-    return productLengthMap.getOrDefault(field, 256);
+    return store.getLength("product." + field, 256);
   }
 
   public AirportRecord getAirportById(int id) {
-    return airportList.get(id - 1);
+    return store.getAirport(id - 1);
   }
 
   public AirlineRecord getAirlineById(int id) {
-    return airlineList.get(id - 1);
+    return store.getAirline(id - 1);
   }
 }
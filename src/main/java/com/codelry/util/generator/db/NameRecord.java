@@ -4,11 +4,19 @@ public class NameRecord {
   public String first;
   public String last;
   public String gender;
+  private final String firstLower;
+  private final String lastLower;
 
   public NameRecord(String first, String last, String gender) {
+    this(first, last, gender, null, null);
+  }
+
+  public NameRecord(String first, String last, String gender, String firstLower, String lastLower) {
     this.first = first;
     this.last = last;
     this.gender = gender;
+    this.firstLower = firstLower;
+    this.lastLower = lastLower;
   }
 
   public String getFirst() {
@@ -24,7 +32,8 @@ public class NameRecord {
   }
 
   public String emailAddress() {
-    return first.toLowerCase() + "." + last.toLowerCase() + "@example.com";
+    return (firstLower != null ? firstLower : first.toLowerCase()) + "."
+        + (lastLower != null ? lastLower : last.toLowerCase()) + "@example.com";
   }
 
   public String getGender() {
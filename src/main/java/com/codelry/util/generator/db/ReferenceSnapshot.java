@@ -0,0 +1,180 @@
+package com.codelry.util.generator.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class ReferenceSnapshot {
+  private static final Logger LOGGER = LogManager.getLogger(ReferenceSnapshot.class);
+  public static final String RESOURCE = "data/source.snapshot";
+  private static final int MAGIC = 0x52454653;
+  private static final int VERSION = 1;
+
+  private ReferenceSnapshot() {}
+
+  public static void write(ReferenceStore store, Path path) throws IOException {
+    String[] strings = store.getStrings();
+    byte[][] encoded = new byte[strings.length][];
+    int blobSize = 0;
+    for (int i = 0; i < strings.length; i++) {
+      encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+      blobSize += encoded[i].length;
+    }
+
+    int size = 12 + 4 * (strings.length + 1) + align(blobSize) + 4;
+    for (Map.Entry<String, IntBuffer> column : store.getColumns().entrySet()) {
+      size += nameSize(column.getKey()) + 4 + 4 * column.getValue().limit();
+    }
+    double[] weights = store.getStateWeights();
+    size += 4 + 8 * weights.length + 4;
+    for (String key : store.getLengths().keySet()) {
+      size += nameSize(key) + 4;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(strings.length);
+    int offset = 0;
+    for (byte[] bytes : encoded) {
+      buffer.putInt(offset);
+      offset += bytes.length;
+    }
+    buffer.putInt(offset);
+    for (byte[] bytes : encoded) {
+      buffer.put(bytes);
+    }
+    buffer.position(align(buffer.position()));
+
+    buffer.putInt(store.getColumns().size());
+    for (Map.Entry<String, IntBuffer> column : store.getColumns().entrySet()) {
+      putName(buffer, column.getKey());
+      IntBuffer values = column.getValue();
+      buffer.putInt(values.limit());
+      for (int i = 0; i < values.limit(); i++) {
+        buffer.putInt(values.get(i));
+      }
+    }
+
+    buffer.putInt(weights.length);
+    for (double weight : weights) {
+      buffer.putDouble(weight);
+    }
+    buffer.putInt(store.getLengths().size());
+    for (Map.Entry<String, Integer> length : store.getLengths().entrySet()) {
+      putName(buffer, length.getKey());
+      buffer.putInt(length.getValue());
+    }
+
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(path)) {
+      out.write(buffer.array(), 0, buffer.position());
+    }
+    LOGGER.info("Wrote reference snapshot {} ({} bytes)", path, buffer.position());
+  }
+
+  public static ReferenceStore load(URL resource) throws IOException {
+    if ("file".equals(resource.getProtocol())) {
+      try {
+        return read(map(Path.of(resource.toURI())));
+      } catch (URISyntaxException e) {
+        throw new IOException("Invalid snapshot location " + resource, e);
+      }
+    }
+    try (InputStream in = resource.openStream()) {
+      byte[] bytes = in.readAllBytes();
+      ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+      buffer.put(bytes).flip();
+      return read(buffer);
+    }
+  }
+
+  public static ByteBuffer map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  public static ReferenceStore read(ByteBuffer buffer) {
+    if (buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a reference data snapshot");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported reference snapshot version " + version);
+    }
+
+    int stringCount = buffer.getInt();
+    IntBuffer offsets = slice(buffer, stringCount + 1);
+    int blobStart = buffer.position();
+    String[] strings = new String[stringCount];
+    byte[] scratch = new byte[64];
+    for (int i = 0; i < stringCount; i++) {
+      int length = offsets.get(i + 1) - offsets.get(i);
+      if (scratch.length < length) {
+        scratch = new byte[length];
+      }
+      buffer.get(blobStart + offsets.get(i), scratch, 0, length);
+      strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+    buffer.position(align(blobStart + offsets.get(stringCount)));
+
+    int columnCount = buffer.getInt();
+    Map<String, IntBuffer> columns = new HashMap<>();
+    for (int i = 0; i < columnCount; i++) {
+      String name = getName(buffer);
+      columns.put(name, slice(buffer, buffer.getInt()));
+    }
+
+    double[] weights = new double[buffer.getInt()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = buffer.getDouble();
+    }
+    int lengthCount = buffer.getInt();
+    Map<String, Integer> lengths = new HashMap<>();
+    for (int i = 0; i < lengthCount; i++) {
+      String name = getName(buffer);
+      lengths.put(name, buffer.getInt());
+    }
+    return new ReferenceStore(strings, columns, weights, lengths);
+  }
+
+  private static IntBuffer slice(ByteBuffer buffer, int count) {
+    IntBuffer view = buffer.slice(buffer.position(), count * 4).asIntBuffer().asReadOnlyBuffer();
+    buffer.position(buffer.position() + count * 4);
+    return view;
+  }
+
+  private static int align(int position) {
+    return (position + 3) & ~3;
+  }
+
+  private static int nameSize(String name) {
+    return 4 + align(name.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  private static void putName(ByteBuffer buffer, String name) {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(bytes.length).put(bytes);
+    buffer.position(align(buffer.position()));
+  }
+
+  private static String getName(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    buffer.position(align(buffer.position()));
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,406 @@
+package com.codelry.util.generator.db;
+
+import com.codelry.util.generator.randomizer.AliasSampler;
+
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+public final class ReferenceStore {
+  public static final String NAME_FIRST = "name.first";
+  public static final String NAME_LAST = "name.last";
+  public static final String NAME_GENDER = "name.gender";
+  public static final String NAME_FIRST_LOWER = "name.firstLower";
+  public static final String NAME_LAST_LOWER = "name.lastLower";
+  public static final String ADDRESS_NUMBER = "address.number";
+  public static final String ADDRESS_STREET = "address.street";
+  public static final String ADDRESS_CITY = "address.city";
+  public static final String ADDRESS_STATE = "address.state";
+  public static final String ADDRESS_ZIP = "address.zip";
+  public static final String PRODUCT_DEPARTMENT = "product.department";
+  public static final String PRODUCT_MANUFACTURER = "product.manufacturer";
+  public static final String PRODUCT_CATEGORY = "product.category";
+  public static final String PRODUCT_SUBCATEGORY = "product.subcategory";
+  public static final String PRODUCT_SKU = "product.sku";
+  public static final String PRODUCT_NAME = "product.name";
+  public static final String PRODUCT_SEASONAL = "product.seasonal";
+  public static final String PRODUCT_PRICE = "product.price";
+  public static final String PRODUCT_COST = "product.cost";
+  public static final String AIRPORT_CODE = "airport.code";
+  public static final String AIRPORT_CITY = "airport.city";
+  public static final String AIRPORT_NAME = "airport.name";
+  public static final String AIRLINE_CODE = "airline.code";
+  public static final String AIRLINE_NAME = "airline.name";
+  public static final String STATE_NAME = "state.name";
+  public static final String STATE_ZIP_OFFSET = "state.zipOffset";
+  public static final String STATE_AREA_CODE_OFFSET = "state.areaCodeOffset";
+  public static final String ZIP_CITY = "zip.city";
+  public static final String ZIP_ZIP = "zip.zip";
+  public static final String ZIP_PLUS_FOUR = "zip.plusFour";
+  public static final String AREA_CODE = "areaCode.code";
+  public static final List<String> COLUMNS = List.of(
+      NAME_FIRST, NAME_LAST, NAME_GENDER, NAME_FIRST_LOWER, NAME_LAST_LOWER,
+      ADDRESS_NUMBER, ADDRESS_STREET, ADDRESS_CITY, ADDRESS_STATE, ADDRESS_ZIP,
+      PRODUCT_DEPARTMENT, PRODUCT_MANUFACTURER, PRODUCT_CATEGORY, PRODUCT_SUBCATEGORY, PRODUCT_SKU, PRODUCT_NAME,
+      PRODUCT_SEASONAL, PRODUCT_PRICE, PRODUCT_COST,
+      AIRPORT_CODE, AIRPORT_CITY, AIRPORT_NAME, AIRLINE_CODE, AIRLINE_NAME,
+      STATE_NAME, STATE_ZIP_OFFSET, STATE_AREA_CODE_OFFSET, ZIP_CITY, ZIP_ZIP, ZIP_PLUS_FOUR, AREA_CODE);
+
+  private final String[] strings;
+  private final Map<String, IntBuffer> columns;
+  private final double[] stateWeights;
+  private final Map<String, Integer> lengths;
+  private final IntBuffer firstNames;
+  private final IntBuffer lastNames;
+  private final IntBuffer genders;
+  private final IntBuffer firstNamesLower;
+  private final IntBuffer lastNamesLower;
+  private final IntBuffer streets;
+  private final IntBuffer stateNames;
+  private final IntBuffer zipOffsets;
+  private final IntBuffer areaCodeOffsets;
+  private final IntBuffer zipCities;
+  private final IntBuffer zipCodes;
+  private final IntBuffer zipPlusFour;
+  private final IntBuffer areaCodes;
+  private final Map<String, Integer> stateIndex;
+  private final ProductRecord[] products;
+  private final AirportRecord[] airports;
+  private final AirlineRecord[] airlines;
+  private final int[] sampledStates;
+  private final AliasSampler stateSampler;
+
+  public ReferenceStore(String[] strings, Map<String, IntBuffer> columns, double[] stateWeights, Map<String, Integer> lengths) {
+    this.strings = strings;
+    this.columns = Map.copyOf(columns);
+    this.stateWeights = stateWeights.clone();
+    this.lengths = Map.copyOf(lengths);
+    this.firstNames = column(NAME_FIRST);
+    this.lastNames = column(NAME_LAST);
+    this.genders = column(NAME_GENDER);
+    this.firstNamesLower = column(NAME_FIRST_LOWER);
+    this.lastNamesLower = column(NAME_LAST_LOWER);
+    this.streets = column(ADDRESS_STREET);
+    this.stateNames = column(STATE_NAME);
+    this.zipOffsets = column(STATE_ZIP_OFFSET);
+    this.areaCodeOffsets = column(STATE_AREA_CODE_OFFSET);
+    this.zipCities = column(ZIP_CITY);
+    this.zipCodes = column(ZIP_ZIP);
+    this.zipPlusFour = column(ZIP_PLUS_FOUR);
+    this.areaCodes = column(AREA_CODE);
+
+    Map<String, Integer> states = new HashMap<>();
+    for (int i = 0; i < stateNames.limit(); i++) {
+      states.put(string(stateNames, i), i);
+    }
+    this.stateIndex = Map.copyOf(states);
+
+    IntBuffer productNames = column(PRODUCT_NAME);
+    this.products = new ProductRecord[productNames.limit()];
+    for (int i = 0; i < products.length; i++) {
+      products[i] = new ProductRecord(
+          string(column(PRODUCT_DEPARTMENT), i),
+          string(column(PRODUCT_MANUFACTURER), i),
+          string(column(PRODUCT_CATEGORY), i),
+          string(column(PRODUCT_SUBCATEGORY), i),
+          string(column(PRODUCT_SKU), i),
+          string(productNames, i),
+          column(PRODUCT_SEASONAL).get(i) != 0,
+          Float.intBitsToFloat(column(PRODUCT_PRICE).get(i)),
+          Float.intBitsToFloat(column(PRODUCT_COST).get(i)));
+    }
+    IntBuffer airportCodes = column(AIRPORT_CODE);
+    this.airports = new AirportRecord[airportCodes.limit()];
+    for (int i = 0; i < airports.length; i++) {
+      airports[i] = new AirportRecord(string(airportCodes, i), string(column(AIRPORT_CITY), i), string(column(AIRPORT_NAME), i));
+    }
+    IntBuffer airlineCodes = column(AIRLINE_CODE);
+    this.airlines = new AirlineRecord[airlineCodes.limit()];
+    for (int i = 0; i < airlines.length; i++) {
+      airlines[i] = new AirlineRecord(string(airlineCodes, i), string(column(AIRLINE_NAME), i));
+    }
+
+    int sampled = 0;
+    int[] candidates = new int[getStateCount()];
+    double[] weights = new double[getStateCount()];
+    for (int i = 0; i < getStateCount(); i++) {
+      if (getStateRecordCount(i) > 0) {
+        candidates[sampled] = i;
+        weights[sampled] = this.stateWeights[i];
+        sampled++;
+      }
+    }
+    this.sampledStates = Arrays.copyOf(candidates, sampled);
+    this.stateSampler = sampled > 0 ? new AliasSampler(Arrays.copyOf(weights, sampled)) : null;
+  }
+
+  private IntBuffer column(String name) {
+    IntBuffer column = columns.get(name);
+    if (column == null) {
+      throw new IllegalArgumentException("Reference data column " + name + " is missing");
+    }
+    return column;
+  }
+
+  private String string(IntBuffer column, int row) {
+    return strings[column.get(row)];
+  }
+
+  public String[] getStrings() {
+    return strings;
+  }
+
+  public Map<String, IntBuffer> getColumns() {
+    return columns;
+  }
+
+  public double[] getStateWeights() {
+    return stateWeights.clone();
+  }
+
+  public Map<String, Integer> getLengths() {
+    return lengths;
+  }
+
+  public int getNameCount() {
+    return firstNames.limit();
+  }
+
+  public int getAddressCount() {
+    return streets.limit();
+  }
+
+  public int getProductCount() {
+    return products.length;
+  }
+
+  public int getAirportCount() {
+    return airports.length;
+  }
+
+  public int getAirlineCount() {
+    return airlines.length;
+  }
+
+  public int getStateCount() {
+    return stateNames.limit();
+  }
+
+  public String getFirstName(int row) {
+    return string(firstNames, row);
+  }
+
+  public String getLastName(int row) {
+    return string(lastNames, row);
+  }
+
+  public NameRecord getNameRecord(int firstRow, int lastRow) {
+    return new NameRecord(
+        string(firstNames, firstRow),
+        string(lastNames, lastRow),
+        string(genders, firstRow),
+        string(firstNamesLower, firstRow),
+        string(lastNamesLower, lastRow));
+  }
+
+  public AddressRecord getAddressRecord(int row) {
+    return new AddressRecord(
+        string(column(ADDRESS_NUMBER), row),
+        string(streets, row),
+        string(column(ADDRESS_CITY), row),
+        string(column(ADDRESS_STATE), row),
+        string(column(ADDRESS_ZIP), row));
+  }
+
+  public String getStreet(int row) {
+    return string(streets, row);
+  }
+
+  public ProductRecord getProduct(int row) {
+    return products[row];
+  }
+
+  public AirportRecord getAirport(int row) {
+    return airports[row];
+  }
+
+  public AirlineRecord getAirline(int row) {
+    return airlines[row];
+  }
+
+  public int sampleState(RandomGenerator random) {
+    if (stateSampler == null) {
+      throw new IllegalStateException("No weighted states available");
+    }
+    return sampledStates[stateSampler.sample(random)];
+  }
+
+  public int getStateIndex(String state) {
+    return stateIndex.getOrDefault(state, -1);
+  }
+
+  public String getStateName(int state) {
+    return string(stateNames, state);
+  }
+
+  public int getStateRecordCount(int state) {
+    return zipOffsets.get(state + 1) - zipOffsets.get(state);
+  }
+
+  public String getStateCity(int state, int row) {
+    return string(zipCities, zipOffsets.get(state) + row);
+  }
+
+  public String getStateZip(int state, int row) {
+    return string(zipCodes, zipOffsets.get(state) + row);
+  }
+
+  public StateRecord getStateRecord(int state, int row) {
+    int offset = zipOffsets.get(state) + row;
+    return new StateRecord(string(zipCities, offset), getStateName(state), string(zipCodes, offset), string(zipPlusFour, offset));
+  }
+
+  public int getAreaCodeCount(int state) {
+    return state < 0 ? 0 : areaCodeOffsets.get(state + 1) - areaCodeOffsets.get(state);
+  }
+
+  public String getAreaCode(int state, int row) {
+    return string(areaCodes, areaCodeOffsets.get(state) + row);
+  }
+
+  public int getLength(String key, int defaultValue) {
+    return lengths.getOrDefault(key, defaultValue);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private final Map<String, Integer> pool = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, List<Integer>> columns = new HashMap<>();
+    private final Map<String, List<int[]>> zipRows = new LinkedHashMap<>();
+    private final Map<String, List<Integer>> areaCodeRows = new LinkedHashMap<>();
+    private final Map<String, Double> weights = new LinkedHashMap<>();
+    private final Map<String, Integer> lengths = new HashMap<>();
+
+    private Builder() {
+      COLUMNS.forEach(name -> columns.put(name, new ArrayList<>()));
+    }
+
+    private int intern(String value) {
+      String text = value == null ? "" : value;
+      return pool.computeIfAbsent(text, key -> {
+        strings.add(key);
+        return strings.size() - 1;
+      });
+    }
+
+    private void add(String column, String value) {
+      columns.get(column).add(intern(value));
+    }
+
+    private void add(String column, int value) {
+      columns.get(column).add(value);
+    }
+
+    public Builder addName(String first, String last, String gender) {
+      add(NAME_FIRST, first);
+      add(NAME_LAST, last);
+      add(NAME_GENDER, gender);
+      add(NAME_FIRST_LOWER, first == null ? null : first.toLowerCase());
+      add(NAME_LAST_LOWER, last == null ? null : last.toLowerCase());
+      return this;
+    }
+
+    public Builder addAddress(String number, String street, String city, String state, String zip) {
+      add(ADDRESS_NUMBER, number);
+      add(ADDRESS_STREET, street);
+      add(ADDRESS_CITY, city);
+      add(ADDRESS_STATE, state);
+      add(ADDRESS_ZIP, zip);
+      return this;
+    }
+
+    public Builder addProduct(ProductRecord product) {
+      add(PRODUCT_DEPARTMENT, product.department);
+      add(PRODUCT_MANUFACTURER, product.manufacturer);
+      add(PRODUCT_CATEGORY, product.category);
+      add(PRODUCT_SUBCATEGORY, product.subcategory);
+      add(PRODUCT_SKU, product.sku);
+      add(PRODUCT_NAME, product.name);
+      add(PRODUCT_SEASONAL, product.seasonal ? 1 : 0);
+      add(PRODUCT_PRICE, Float.floatToIntBits(product.price));
+      add(PRODUCT_COST, Float.floatToIntBits(product.cost));
+      return this;
+    }
+
+    public Builder addAirport(String code, String city, String name) {
+      add(AIRPORT_CODE, code);
+      add(AIRPORT_CITY, city);
+      add(AIRPORT_NAME, name);
+      return this;
+    }
+
+    public Builder addAirline(String code, String name) {
+      add(AIRLINE_CODE, code);
+      add(AIRLINE_NAME, name);
+      return this;
+    }
+
+    public Builder addZipCode(String state, String city, String zip, String plusFour) {
+      zipRows.computeIfAbsent(state, key -> new ArrayList<>()).add(new int[]{intern(city), intern(zip), intern(plusFour)});
+      return this;
+    }
+
+    public Builder addAreaCode(String state, String code) {
+      areaCodeRows.computeIfAbsent(state, key -> new ArrayList<>()).add(intern(code));
+      return this;
+    }
+
+    public Builder addStateWeight(String state, double weight) {
+      weights.put(state, weight);
+      return this;
+    }
+
+    public Builder setLength(String key, int length) {
+      lengths.put(key, length);
+      return this;
+    }
+
+    public ReferenceStore build() {
+      Set<String> states = new LinkedHashSet<>();
+      states.addAll(zipRows.keySet());
+      states.addAll(areaCodeRows.keySet());
+      states.addAll(weights.keySet());
+      double[] stateWeights = new double[states.size()];
+      int zipOffset = 0;
+      int areaCodeOffset = 0;
+      int index = 0;
+      for (String state : states) {
+        add(STATE_NAME, state);
+        add(STATE_ZIP_OFFSET, zipOffset);
+        add(STATE_AREA_CODE_OFFSET, areaCodeOffset);
+        for (int[] row : zipRows.getOrDefault(state, List.of())) {
+          add(ZIP_CITY, row[0]);
+          add(ZIP_ZIP, row[1]);
+          add(ZIP_PLUS_FOUR, row[2]);
+          zipOffset++;
+        }
+        for (int code : areaCodeRows.getOrDefault(state, List.of())) {
+          add(AREA_CODE, code);
+          areaCodeOffset++;
+        }
+        stateWeights[index++] = weights.getOrDefault(state, 0.0);
+      }
+      add(STATE_ZIP_OFFSET, zipOffset);
+      add(STATE_AREA_CODE_OFFSET, areaCodeOffset);
+
+      Map<String, IntBuffer> built = new HashMap<>();
+      columns.forEach((name, values) ->
+          built.put(name, IntBuffer.wrap(values.stream().mapToInt(Integer::intValue).toArray()).asReadOnlyBuffer()));
+      return new ReferenceStore(strings.toArray(new String[0]), built, stateWeights, lengths);
+    }
+  }
+}
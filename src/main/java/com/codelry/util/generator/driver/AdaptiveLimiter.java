@@ -0,0 +1,188 @@
+package com.codelry.util.generator.driver;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class AdaptiveLimiter implements MeterBinder {
+  private static final AtomicLong INSTANCES = new AtomicLong();
+  private final String name;
+  private final Predicate<Throwable> dropFilter;
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private final List<Gauge> gauges = new ArrayList<>();
+  private int minLimit = 4;
+  private int maxLimit = 512;
+  private double backoffRatio = 0.9;
+  private long latencyThreshold = Duration.ofMillis(500).toNanos();
+  private double limit = 64;
+  private int inFlight;
+  private MeterRegistry registry;
+  private String instance;
+
+  public AdaptiveLimiter(String name, Predicate<Throwable> dropFilter) {
+    this.name = name;
+    this.dropFilter = dropFilter;
+    this.instance = name + "-" + INSTANCES.incrementAndGet();
+  }
+
+  public synchronized void setInstance(String instance) {
+    this.instance = instance;
+  }
+
+  public synchronized String getInstance() {
+    return instance;
+  }
+
+  public synchronized void setLimits(int initial, int min, int max) {
+    this.minLimit = Math.max(1, min);
+    this.maxLimit = Math.max(minLimit, max);
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initial));
+  }
+
+  public synchronized void setBackoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+  }
+
+  public synchronized void setLatencyThreshold(Duration latencyThreshold) {
+    this.latencyThreshold = latencyThreshold.toNanos();
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public synchronized int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public <T> Mono<T> execute(Supplier<Mono<T>> operation) {
+    return Mono.<Permit>create(sink -> {
+          Waiter waiter = new Waiter(sink);
+          sink.onCancel(() -> cancel(waiter));
+          enqueue(waiter);
+        })
+        .flatMap(permit -> operation.get()
+            .doOnSuccess(value -> permit.release(null))
+            .doOnError(permit::release)
+            .doOnCancel(permit::abandon));
+  }
+
+  private void enqueue(Waiter waiter) {
+    synchronized (this) {
+      waiters.addLast(waiter);
+    }
+    grant();
+  }
+
+  private void cancel(Waiter waiter) {
+    Permit permit;
+    synchronized (this) {
+      if (waiters.remove(waiter)) {
+        return;
+      }
+      permit = waiter.permit;
+    }
+    if (permit != null) {
+      permit.abandon();
+    }
+  }
+
+  private void grant() {
+    List<Waiter> granted = new ArrayList<>();
+    synchronized (this) {
+      while (inFlight < (int) limit && !waiters.isEmpty()) {
+        Waiter waiter = waiters.pollFirst();
+        inFlight++;
+        waiter.permit = new Permit(inFlight);
+        granted.add(waiter);
+      }
+    }
+    for (Waiter waiter : granted) {
+      waiter.sink.success(waiter.permit);
+    }
+  }
+
+  private void complete(Permit permit, Throwable error, boolean sample) {
+    synchronized (this) {
+      inFlight--;
+      if (sample) {
+        long latency = System.nanoTime() - permit.startTime;
+        boolean dropped = (error != null && dropFilter.test(error)) || latency > latencyThreshold;
+        if (dropped) {
+          limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (permit.inFlight * 2 >= limit) {
+          limit = Math.min(maxLimit, limit + 1);
+        }
+      }
+    }
+    grant();
+  }
+
+  @Override
+  public synchronized void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+    gauges.add(Gauge.builder("sink.concurrency.limit", this, AdaptiveLimiter::getLimit)
+        .tag("sink", name)
+        .tag("instance", instance)
+        .register(registry));
+    gauges.add(Gauge.builder("sink.concurrency.inflight", this, AdaptiveLimiter::getInFlight)
+        .tag("sink", name)
+        .tag("instance", instance)
+        .register(registry));
+  }
+
+  public synchronized void unbind() {
+    if (registry != null) {
+      gauges.forEach(registry::remove);
+    }
+    gauges.clear();
+    registry = null;
+  }
+
+  private static final class Waiter {
+    private final MonoSink<Permit> sink;
+    private Permit permit;
+
+    private Waiter(MonoSink<Permit> sink) {
+      this.sink = sink;
+    }
+  }
+
+  private final class Permit {
+    private final long startTime = System.nanoTime();
+    private final int inFlight;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(int inFlight) {
+      this.inFlight = inFlight;
+    }
+
+    private void release(Throwable error) {
+      if (released.compareAndSet(false, true)) {
+        complete(this, error, true);
+      }
+    }
+
+    private void abandon() {
+      if (released.compareAndSet(false, true)) {
+        complete(this, null, false);
+      }
+    }
+  }
+}
@@ -0,0 +1,487 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.ColumnType;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.dto.TypeMapping;
+import com.codelry.util.generator.generator.EntityLoad;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.arrow.dataset.file.DatasetFileWriter;
+import org.apache.arrow.dataset.file.FileFormat;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+public class ColumnarExport extends EntityLoad {
+  private static final Logger logger = LoggerFactory.getLogger(ColumnarExport.class);
+  private static final Set<ColumnType> DICTIONARY_TYPES = EnumSet.of(
+      ColumnType.STATE, ColumnType.CABIN_CODE, ColumnType.BOOKING_CODE, ColumnType.AIRLINE_CODE,
+      ColumnType.AIRLINE_NAME, ColumnType.PRODUCT_TYPE, ColumnType.MANUFACTURER, ColumnType.WORD, ColumnType.SET);
+  private static final int MAX_DICTIONARY_SIZE = 4096;
+  private final Path directory;
+  private final Set<Format> formats;
+  private final List<Path> files = new ArrayList<>();
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private BufferAllocator allocator;
+  private ExecutorService workers;
+  private Output output;
+
+  public enum Format {
+    ARROW,
+    PARQUET;
+
+    public static Format from(String value) {
+      return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+  }
+
+  public ColumnarExport(Path directory, Format... formats) {
+    this.directory = directory;
+    this.formats = formats.length == 0 ? EnumSet.of(Format.ARROW) : EnumSet.copyOf(Arrays.asList(formats));
+    setMaxInFlight(threads * 2);
+  }
+
+  public void setThreads(int threads) {
+    this.threads = Math.max(1, threads);
+    setMaxInFlight(this.threads * 2);
+  }
+
+  public List<Path> getFiles() {
+    return files;
+  }
+
+  @Override
+  public void prepare() {
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new RuntimeException("Can not create export directory " + directory + ": " + e.getMessage(), e);
+    }
+    allocator = new RootAllocator();
+    workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "columnar-export");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public synchronized void startEntity(EntityDefinition definition) {
+    if (allocator == null) {
+      prepare();
+    }
+    closeOutput();
+    String name = definition.getTableName() != null ? definition.getTableName() : definition.getId();
+    List<Column> columns = new ArrayList<>();
+    if (definition.getFields() != null) {
+      for (FieldDefinition field : definition.getFields()) {
+        columns.add(new Column(field));
+      }
+    }
+    Path staging = directory.resolve("." + name + ".arrow.tmp");
+    try {
+      output = new Output(name, staging, columns, allocator);
+    } catch (IOException e) {
+      throw new RuntimeException("Can not open staging file " + staging + ": " + e.getMessage(), e);
+    }
+    logger.info("Exporting {} records to columnar staging file {}", name, staging);
+  }
+
+  @Override
+  public synchronized void finishEntity(EntityDefinition definition) {
+    Output finished = output;
+    output = null;
+    if (finished == null) {
+      return;
+    }
+    try {
+      finished.close();
+      if (formats.contains(Format.ARROW)) {
+        files.add(writeArrow(finished));
+      }
+      if (formats.contains(Format.PARQUET)) {
+        files.add(writeParquet(finished));
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to export " + finished.name + ": " + e.getMessage(), e);
+    } finally {
+      deleteStaging(finished);
+    }
+  }
+
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    Output target;
+    long sequence;
+    synchronized (this) {
+      if (output == null) {
+        return CompletableFuture.failedFuture(new IllegalStateException("No export file is open"));
+      }
+      target = output;
+      sequence = target.sequence++;
+    }
+    CompletableFuture<Void> written = new CompletableFuture<>();
+    CompletableFuture.supplyAsync(() -> fill(target, batch), workers)
+        .whenComplete((root, error) -> target.append(sequence, root, error, written));
+    return written;
+  }
+
+  @Override
+  public void insertBatch(List<Entity> batch) {
+    writeBatch(batch).toCompletableFuture().join();
+  }
+
+  private VectorSchemaRoot fill(Output target, List<Entity> batch) {
+    VectorSchemaRoot root = VectorSchemaRoot.create(target.schema, allocator);
+    try {
+      root.allocateNew();
+      List<Column> columns = target.columns;
+      for (int row = 0; row < batch.size(); row++) {
+        Entity record = batch.get(row);
+        for (int c = 0; c < columns.size(); c++) {
+          Column column = columns.get(c);
+          Object value = record.getDocument() != null
+              ? nodeValue(record.getDocument().get(column.name))
+              : record.getValue(c, column.name);
+          column.set(root.getVector(c), row, value);
+        }
+      }
+      root.setRowCount(batch.size());
+      return root;
+    } catch (RuntimeException e) {
+      root.close();
+      throw e;
+    }
+  }
+
+  private static Object nodeValue(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return null;
+    }
+    if (node.isNumber()) {
+      return node.numberValue();
+    }
+    if (node.isBoolean()) {
+      return node.booleanValue();
+    }
+    return node.isValueNode() ? node.asText() : node.toString();
+  }
+
+  private Path writeArrow(Output source) throws IOException {
+    Path path = directory.resolve(source.name + ".arrow");
+    DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+    List<Field> fields = new ArrayList<>();
+    Map<Integer, Dictionary> dictionaries = new HashMap<>();
+    long id = 0;
+    for (int c = 0; c < source.columns.size(); c++) {
+      Column column = source.columns.get(c);
+      Set<String> values = column.dictionaryValues();
+      if (values == null) {
+        fields.add(column.field());
+        continue;
+      }
+      DictionaryEncoding encoding = new DictionaryEncoding(id++, false, new ArrowType.Int(32, true));
+      VarCharVector vector = new VarCharVector(column.name + "-dictionary", allocator);
+      vector.allocateNew(values.size());
+      int index = 0;
+      for (String value : values) {
+        vector.setSafe(index++, value.getBytes(StandardCharsets.UTF_8));
+      }
+      vector.setValueCount(values.size());
+      Dictionary dictionary = new Dictionary(vector, encoding);
+      provider.put(dictionary);
+      dictionaries.put(c, dictionary);
+      fields.add(new Field(column.name, new FieldType(true, encoding.getIndexType(), encoding), null));
+    }
+    try (FileChannel in = FileChannel.open(source.staging, StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(in, allocator);
+         FileChannel out = FileChannel.open(path,
+             StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+         VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator);
+         ArrowFileWriter writer = new ArrowFileWriter(root, provider, out)) {
+      VectorSchemaRoot staged = reader.getVectorSchemaRoot();
+      writer.start();
+      while (reader.loadNextBatch()) {
+        for (int c = 0; c < fields.size(); c++) {
+          FieldVector target = root.getVector(c);
+          Dictionary dictionary = dictionaries.get(c);
+          if (dictionary == null) {
+            staged.getVector(c).makeTransferPair(target).transfer();
+          } else {
+            try (ValueVector encoded = DictionaryEncoder.encode(staged.getVector(c), dictionary)) {
+              encoded.makeTransferPair(target).transfer();
+            }
+          }
+        }
+        root.setRowCount(staged.getRowCount());
+        writer.writeBatch();
+      }
+      writer.end();
+    } finally {
+      for (Dictionary dictionary : dictionaries.values()) {
+        dictionary.getVector().close();
+      }
+    }
+    logger.info("Wrote Arrow file {} ({} dictionary columns)", path, dictionaries.size());
+    return path;
+  }
+
+  private Path writeParquet(Output source) throws IOException {
+    Path path = directory.resolve(source.name + ".parquet");
+    Path dataset = directory.resolve("." + source.name + ".parquet.tmp");
+    deleteDirectory(dataset);
+    try (FileChannel in = FileChannel.open(source.staging, StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(in, allocator)) {
+      DatasetFileWriter.write(allocator, reader, FileFormat.PARQUET, dataset.toUri().toString(),
+          new String[0], 1, "part-{i}.parquet");
+      Files.move(dataset.resolve("part-0.parquet"), path, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      deleteDirectory(dataset);
+    }
+    logger.info("Wrote Parquet file {}", path);
+    return path;
+  }
+
+  private static void deleteDirectory(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> entries = Files.walk(path)) {
+      for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(entry);
+      }
+    }
+  }
+
+  private static void deleteStaging(Output source) {
+    try {
+      Files.deleteIfExists(source.staging);
+    } catch (IOException e) {
+      logger.warn("Failed to remove staging file {}: {}", source.staging, e.getMessage());
+    }
+  }
+
+  private synchronized void closeOutput() {
+    if (output == null) {
+      return;
+    }
+    try {
+      output.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close staging file {}: {}", output.staging, e.getMessage());
+    } finally {
+      deleteStaging(output);
+      output = null;
+    }
+  }
+
+  @Override
+  public void cleanup() {
+    try {
+      closeOutput();
+    } finally {
+      if (workers != null) {
+        workers.shutdownNow();
+        workers = null;
+      }
+      if (allocator != null) {
+        allocator.close();
+        allocator = null;
+      }
+    }
+  }
+
+  private static final class Column {
+    private final String name;
+    private final TypeMapping type;
+    private final Set<String> values;
+    private volatile boolean overflow;
+
+    private Column(FieldDefinition definition) {
+      this.name = definition.getName();
+      this.type = definition.getDataType() != null ? definition.getDataType() : TypeMapping.STRING;
+      this.values = type == TypeMapping.STRING && DICTIONARY_TYPES.contains(definition.getType())
+          ? ConcurrentHashMap.newKeySet() : null;
+    }
+
+    private Field field() {
+      ArrowType arrowType = switch (type) {
+        case LONG, INTEGER -> new ArrowType.Int(64, true);
+        case DOUBLE, FLOAT -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        case BOOLEAN -> ArrowType.Bool.INSTANCE;
+        case LOCAL_DATE_TIME, LOCAL_DATE -> new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+        case STRING -> ArrowType.Utf8.INSTANCE;
+      };
+      return new Field(name, FieldType.nullable(arrowType), null);
+    }
+
+    private Set<String> dictionaryValues() {
+      return values == null || overflow || values.isEmpty() ? null : new TreeSet<>(values);
+    }
+
+    private void set(FieldVector vector, int row, Object value) {
+      switch (type) {
+        case LONG, INTEGER -> {
+          if (value instanceof Number number) {
+            ((BigIntVector) vector).setSafe(row, number.longValue());
+          } else {
+            ((BigIntVector) vector).setNull(row);
+          }
+        }
+        case DOUBLE, FLOAT -> {
+          if (value instanceof Number number) {
+            ((Float8Vector) vector).setSafe(row, number.doubleValue());
+          } else {
+            ((Float8Vector) vector).setNull(row);
+          }
+        }
+        case BOOLEAN -> {
+          if (value instanceof Boolean flag) {
+            ((BitVector) vector).setSafe(row, flag ? 1 : 0);
+          } else {
+            ((BitVector) vector).setNull(row);
+          }
+        }
+        case LOCAL_DATE_TIME, LOCAL_DATE -> {
+          Long millis = millis(value);
+          if (millis != null) {
+            ((TimeStampMilliTZVector) vector).setSafe(row, millis);
+          } else {
+            ((TimeStampMilliTZVector) vector).setNull(row);
+          }
+        }
+        case STRING -> {
+          if (value == null) {
+            ((VarCharVector) vector).setNull(row);
+            return;
+          }
+          String text = String.valueOf(value);
+          if (values != null && !overflow) {
+            values.add(text);
+            if (values.size() > MAX_DICTIONARY_SIZE) {
+              overflow = true;
+            }
+          }
+          ((VarCharVector) vector).setSafe(row, text.getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    }
+
+    private static Long millis(Object value) {
+      if (value instanceof Date date) {
+        return date.getTime();
+      } else if (value instanceof LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+      } else if (value instanceof LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+      } else if (value instanceof Number number) {
+        return number.longValue();
+      }
+      return null;
+    }
+  }
+
+  private static final class Output {
+    private final String name;
+    private final Path staging;
+    private final List<Column> columns;
+    private final Schema schema;
+    private final FileChannel channel;
+    private final VectorSchemaRoot root;
+    private final ArrowFileWriter writer;
+    private final TreeMap<Long, Pending> ready = new TreeMap<>();
+    private long sequence;
+    private long nextWrite;
+
+    private Output(String name, Path staging, List<Column> columns, BufferAllocator allocator) throws IOException {
+      this.name = name;
+      this.staging = staging;
+      this.columns = columns;
+      this.schema = new Schema(columns.stream().map(Column::field).toList());
+      this.channel = FileChannel.open(staging,
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.root = VectorSchemaRoot.create(schema, allocator);
+      this.writer = new ArrowFileWriter(root, new DictionaryProvider.MapDictionaryProvider(), channel);
+      writer.start();
+    }
+
+    private synchronized void append(long sequence, VectorSchemaRoot batch, Throwable error,
+                                     CompletableFuture<Void> written) {
+      ready.put(sequence, new Pending(batch, error, written));
+      Pending pending;
+      while ((pending = ready.remove(nextWrite)) != null) {
+        nextWrite++;
+        if (pending.error != null) {
+          pending.written.completeExceptionally(pending.error);
+          continue;
+        }
+        try (VectorSchemaRoot batch = pending.root) {
+          write(batch);
+          pending.written.complete(null);
+        } catch (IOException e) {
+          pending.written.completeExceptionally(
+              new RuntimeException("Failed to write " + staging + ": " + e.getMessage(), e));
+        }
+      }
+    }
+
+    private void write(VectorSchemaRoot batch) throws IOException {
+      try (ArrowRecordBatch records = new VectorUnloader(batch).getRecordBatch()) {
+        new VectorLoader(root).load(records);
+      }
+      writer.writeBatch();
+    }
+
+    private synchronized void close() throws IOException {
+      for (Pending pending : ready.values()) {
+        if (pending.root != null) {
+          pending.root.close();
+        }
+        pending.written.completeExceptionally(new IllegalStateException("Export file " + staging + " was closed"));
+      }
+      ready.clear();
+      try {
+        writer.close();
+      } finally {
+        root.close();
+        channel.close();
+      }
+    }
+  }
+
+  private record Pending(VectorSchemaRoot root, Throwable error, CompletableFuture<Void> written) {}
+}
@@ -5,37 +5,66 @@ import com.codelry.util.generator.generator.EntityLoad;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Collection;
 import com.couchbase.client.java.ReactiveCollection;
+import com.couchbase.client.java.codec.RawJsonTranscoder;
+import com.couchbase.client.java.kv.UpsertOptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.CompletionStage;
 
 public class Couchbase extends EntityLoad {
   private static final Logger logger = LoggerFactory.getLogger(Couchbase.class);
+  private static final RetryBackoffSpec RETRY = Retry.backoff(10, Duration.ofMillis(10))
+      .jitter(0.5)
+      .filter(t -> t instanceof CouchbaseException)
+      .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  private static final UpsertOptions RAW_JSON = UpsertOptions.upsertOptions().transcoder(RawJsonTranscoder.INSTANCE);
+  private final AdaptiveLimiter limiter = new AdaptiveLimiter("couchbase", t -> t instanceof CouchbaseException);
   private ReactiveCollection collection;
-  public final PriorityBlockingQueue<Throwable> errorQueue = new PriorityBlockingQueue<>();
 
   public void connect(Collection collection) {
     this.collection = collection.reactive();
+    if (registry != null) {
+      limiter.bindTo(registry);
+    }
+  }
+
+  public AdaptiveLimiter getLimiter() {
+    return limiter;
   }
 
   @Override
   public void prepare() {}
 
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    return Flux.fromIterable(batch)
+        .flatMap(this::upsert, limiter.getMaxLimit())
+        .then()
+        .toFuture();
+  }
+
+  private Mono<Void> upsert(Entity record) {
+    return limiter.execute(() -> collection.upsert(record.getId(), record.asBytes(), RAW_JSON))
+        .retryWhen(RETRY)
+        .then()
+        .onErrorResume(e -> deadLetter(record, e) ? Mono.empty() : Mono.error(e));
+  }
+
   @Override
   public void insertBatch(List<Entity> batch) {
-    Flux.fromIterable(batch)
-        .flatMap(record -> collection.upsert(record.getId(), record.asJson()), 256)
-        .retryWhen(Retry.backoff(10, Duration.ofMillis(10)).filter(t -> t instanceof CouchbaseException))
-        .doOnError(errorQueue::put)
-        .blockLast();
+    writeBatch(batch).toCompletableFuture().join();
   }
 
   @Override
-  public void cleanup() {}
+  public void cleanup() {
+    limiter.unbind();
+  }
 }
@@ -0,0 +1,317 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.generator.EntityLoad;
+import com.codelry.util.generator.generator.EntitySerializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+public class FileExport extends EntityLoad {
+  private static final Logger logger = LoggerFactory.getLogger(FileExport.class);
+  private static final byte[] NEWLINE = {'\n'};
+  private final Path directory;
+  private final Format format;
+  private final Compression compression;
+  private final List<Path> files = new ArrayList<>();
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private ExecutorService workers;
+  private Output output;
+
+  public enum Format {
+    NDJSON("ndjson"),
+    CSV("csv");
+
+    private final String extension;
+
+    Format(String extension) {
+      this.extension = extension;
+    }
+
+    public String getExtension() {
+      return extension;
+    }
+
+    public static Format from(String value) {
+      return value == null ? NDJSON : valueOf(value.toUpperCase(Locale.ROOT));
+    }
+  }
+
+  public enum Compression {
+    NONE(""),
+    GZIP(".gz"),
+    ZSTD(".zst");
+
+    private final String suffix;
+
+    Compression(String suffix) {
+      this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+      return suffix;
+    }
+
+    public OutputStream wrap(OutputStream out) throws IOException {
+      return switch (this) {
+        case NONE -> out;
+        case GZIP -> new GZIPOutputStream(out, 65536);
+        case ZSTD -> new ZstdOutputStream(out);
+      };
+    }
+
+    public static Compression from(String value) {
+      return value == null ? NONE : valueOf(value.toUpperCase(Locale.ROOT));
+    }
+  }
+
+  public FileExport(Path directory, Format format, Compression compression) {
+    this.directory = directory;
+    this.format = format;
+    this.compression = compression;
+    setMaxInFlight(threads * 2);
+  }
+
+  public void setThreads(int threads) {
+    this.threads = Math.max(1, threads);
+    setMaxInFlight(this.threads * 2);
+  }
+
+  public List<Path> getFiles() {
+    return files;
+  }
+
+  @Override
+  public void prepare() {
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new RuntimeException("Can not create export directory " + directory + ": " + e.getMessage(), e);
+    }
+    workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "file-export");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public synchronized void startEntity(EntityDefinition definition) {
+    if (workers == null) {
+      prepare();
+    }
+    closeOutput();
+    String name = definition.getTableName() != null ? definition.getTableName() : definition.getId();
+    Path path = directory.resolve(name + "." + format.getExtension() + compression.getSuffix());
+    List<String> headers = new ArrayList<>();
+    if (definition.getFields() != null) {
+      for (FieldDefinition field : definition.getFields()) {
+        headers.add(field.getName());
+      }
+    }
+    try {
+      FileChannel channel = FileChannel.open(path,
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      output = new Output(path, channel, headers);
+      if (format == Format.CSV) {
+        output.write(encode(out -> printCsv(out, List.of(headers))));
+      }
+    } catch (IOException e) {
+      closeOutput();
+      throw new RuntimeException("Can not open export file " + path + ": " + e.getMessage(), e);
+    }
+    logger.info("Exporting {} records to {}", name, path);
+  }
+
+  @Override
+  public synchronized void finishEntity(EntityDefinition definition) {
+    closeOutput();
+  }
+
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    Output target;
+    long sequence;
+    synchronized (this) {
+      if (output == null) {
+        return CompletableFuture.failedFuture(new IllegalStateException("No export file is open"));
+      }
+      target = output;
+      sequence = target.sequence++;
+    }
+    CompletableFuture<Void> written = new CompletableFuture<>();
+    CompletableFuture.supplyAsync(() -> encodeBatch(target, batch), workers)
+        .whenComplete((chunk, error) -> target.append(sequence, chunk, error, written));
+    return written;
+  }
+
+  @Override
+  public void insertBatch(List<Entity> batch) {
+    writeBatch(batch).toCompletableFuture().join();
+  }
+
+  private byte[] encodeBatch(Output target, List<Entity> batch) {
+    try {
+      if (format == Format.CSV) {
+        List<List<String>> rows = new ArrayList<>(batch.size());
+        for (Entity record : batch) {
+          rows.add(values(record, target.headers));
+        }
+        return encode(out -> printCsv(out, rows));
+      }
+      return encode(out -> {
+        for (Entity record : batch) {
+          out.write(record.asBytes());
+          out.write(NEWLINE);
+        }
+      });
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to encode export chunk: " + e.getMessage(), e);
+    }
+  }
+
+  private byte[] encode(ChunkEncoder encoder) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(65536);
+    try (OutputStream out = compression.wrap(buffer)) {
+      encoder.encode(out);
+    }
+    return buffer.toByteArray();
+  }
+
+  private static void printCsv(OutputStream out, List<List<String>> rows) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT);
+    for (List<String> row : rows) {
+      printer.printRecord(row);
+    }
+    printer.flush();
+  }
+
+  private static List<String> values(Entity record, List<String> headers) {
+    List<String> values = new ArrayList<>(headers.size());
+    if (record.getDocument() != null) {
+      for (String header : headers) {
+        JsonNode value = record.getDocument().get(header);
+        values.add(value == null || value.isNull() ? "" : value.isValueNode() ? value.asText() : value.toString());
+      }
+      return values;
+    }
+    for (int i = 0; i < headers.size(); i++) {
+      values.add(csvValue(record.getValue(i, headers.get(i))));
+    }
+    return values;
+  }
+
+  private static String csvValue(Object value) {
+    if (value == null) {
+      return "";
+    } else if (value instanceof Date date) {
+      return EntitySerializer.formatDate(date);
+    } else if (value instanceof String[] array) {
+      return String.join(",", array);
+    } else if (value instanceof List<?> list) {
+      return list.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+    return String.valueOf(value);
+  }
+
+  private synchronized void closeOutput() {
+    if (output == null) {
+      return;
+    }
+    try {
+      output.channel.force(false);
+      output.channel.close();
+      files.add(output.path);
+      logger.info("Closed export file {} ({} bytes)", output.path, output.size);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to close export file " + output.path + ": " + e.getMessage(), e);
+    } finally {
+      output = null;
+    }
+  }
+
+  @Override
+  public void cleanup() {
+    try {
+      closeOutput();
+    } finally {
+      if (workers != null) {
+        workers.shutdownNow();
+        workers = null;
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface ChunkEncoder {
+    void encode(OutputStream out) throws IOException;
+  }
+
+  private static final class Output {
+    private final Path path;
+    private final FileChannel channel;
+    private final List<String> headers;
+    private final TreeMap<Long, Chunk> ready = new TreeMap<>();
+    private long sequence;
+    private long nextWrite;
+    private long size;
+
+    private Output(Path path, FileChannel channel, List<String> headers) {
+      this.path = path;
+      this.channel = channel;
+      this.headers = headers;
+    }
+
+    private void write(byte[] chunk) throws IOException {
+      ByteBuffer buffer = ByteBuffer.wrap(chunk);
+      while (buffer.hasRemaining()) {
+        size += channel.write(buffer);
+      }
+    }
+
+    private synchronized void append(long sequence, byte[] bytes, Throwable error, CompletableFuture<Void> written) {
+      ready.put(sequence, new Chunk(bytes, error, written));
+      Chunk chunk;
+      while ((chunk = ready.remove(nextWrite)) != null) {
+        nextWrite++;
+        if (chunk.error != null) {
+          chunk.written.completeExceptionally(chunk.error);
+          continue;
+        }
+        try {
+          write(chunk.bytes);
+          chunk.written.complete(null);
+        } catch (IOException e) {
+          chunk.written.completeExceptionally(new RuntimeException("Failed to write " + path + ": " + e.getMessage(), e));
+        }
+      }
+    }
+  }
+
+  private record Chunk(byte[] bytes, Throwable error, CompletableFuture<Void> written) {}
+}
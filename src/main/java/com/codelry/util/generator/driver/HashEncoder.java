@@ -0,0 +1,89 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.Field;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.lettuce.core.protocol.CommandArgs;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class HashEncoder {
+  private static final int MAX_NAMES = 4096;
+  private static final Map<String, byte[]> NAMES = new ConcurrentHashMap<>();
+
+  private HashEncoder() {}
+
+  public static byte[] key(String id) {
+    return id.getBytes(StandardCharsets.UTF_8);
+  }
+
+  public static byte[] name(String name) {
+    byte[] encoded = NAMES.get(name);
+    if (encoded == null) {
+      encoded = name.getBytes(StandardCharsets.UTF_8);
+      if (NAMES.size() < MAX_NAMES) {
+        NAMES.putIfAbsent(name, encoded);
+      }
+    }
+    return encoded;
+  }
+
+  public static <K, V> CommandArgs<K, V> appendFields(CommandArgs<K, V> args, Entity record) {
+    if (record.getDocument() != null) {
+      Iterator<Map.Entry<String, JsonNode>> fields = record.getDocument().fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> entry = fields.next();
+        args.add(name(entry.getKey()));
+        appendNode(args, entry.getValue());
+      }
+      return args;
+    }
+    List<Field> fields = record.getFields();
+    for (int i = 0; i < fields.size(); i++) {
+      Field field = fields.get(i);
+      args.add(name(field.getName()));
+      appendValue(args, field.getValue());
+    }
+    return args;
+  }
+
+  private static void appendNode(CommandArgs<?, ?> args, JsonNode value) {
+    if (value.isIntegralNumber() && value.canConvertToLong()) {
+      args.add(value.longValue());
+    } else if (value.isTextual()) {
+      args.add(value.textValue());
+    } else if (value.isValueNode()) {
+      args.add(value.asText());
+    } else {
+      args.add(value.toString());
+    }
+  }
+
+  private static void appendValue(CommandArgs<?, ?> args, Object value) {
+    if (value instanceof String text) {
+      args.add(text);
+    } else if (value instanceof Long number) {
+      args.add(number);
+    } else if (value instanceof Integer number) {
+      args.add(number.longValue());
+    } else if (value instanceof byte[] bytes) {
+      args.add(bytes);
+    } else if (value instanceof float[] vector) {
+      args.add(vector(vector));
+    } else {
+      args.add(String.valueOf(value));
+    }
+  }
+
+  public static byte[] vector(float[] values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asFloatBuffer().put(values);
+    return buffer.array();
+  }
+}
@@ -0,0 +1,270 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.generator.EntityLoad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.*;
+
+public class Jdbc extends EntityLoad {
+  private static final Logger logger = LoggerFactory.getLogger(Jdbc.class);
+  private final String url;
+  private final Properties properties;
+  private final BlockingQueue<Session> connections = new LinkedBlockingQueue<>();
+  private final List<Session> opened = new ArrayList<>();
+  private int connectionCount = 4;
+  private int statementBatchSize = 1000;
+  private int transactionSize = 10000;
+  private boolean useBulkLoad = true;
+  private JdbcDialect dialect;
+  private ExecutorService workers;
+  private volatile Table table;
+
+  private record Table(String name, List<FieldDefinition> fields, String insert) {}
+
+  private record Session(Connection connection, List<Entity> uncommitted) {}
+
+  public Jdbc(String url, Properties properties) {
+    this.url = url;
+    this.properties = properties;
+  }
+
+  public Jdbc(String url, String username, String password) {
+    this(url, credentials(username, password));
+  }
+
+  private static Properties credentials(String username, String password) {
+    Properties properties = new Properties();
+    if (username != null) {
+      properties.setProperty("user", username);
+    }
+    if (password != null) {
+      properties.setProperty("password", password);
+    }
+    return properties;
+  }
+
+  public void setConnectionCount(int connectionCount) {
+    this.connectionCount = Math.max(1, connectionCount);
+  }
+
+  public void setStatementBatchSize(int statementBatchSize) {
+    this.statementBatchSize = Math.max(1, statementBatchSize);
+  }
+
+  public void setTransactionSize(int transactionSize) {
+    this.transactionSize = Math.max(1, transactionSize);
+  }
+
+  public void setUseBulkLoad(boolean useBulkLoad) {
+    this.useBulkLoad = useBulkLoad;
+  }
+
+  public void setDialect(JdbcDialect dialect) {
+    this.dialect = dialect;
+  }
+
+  public JdbcDialect getDialect() {
+    return dialect;
+  }
+
+  public void connect() {
+    try {
+      Session first = open();
+      if (dialect == null) {
+        dialect = JdbcDialect.forProduct(first.connection().getMetaData().getDatabaseProductName());
+      }
+      int count = dialect.maxConnections(connectionCount);
+      for (int i = 1; i < count; i++) {
+        open();
+      }
+      setMaxInFlight(count);
+      workers = Executors.newFixedThreadPool(count, runnable -> {
+        Thread thread = new Thread(runnable, "jdbc-load");
+        thread.setDaemon(true);
+        return thread;
+      });
+      logger.info("Opened {} JDBC connections to {} using {}", count, url, dialect.getClass().getSimpleName());
+    } catch (SQLException e) {
+      cleanup();
+      throw new RuntimeException("Can not connect to " + url + ": " + e.getMessage(), e);
+    }
+  }
+
+  private Session open() throws SQLException {
+    Connection connection = DriverManager.getConnection(url, properties);
+    connection.setAutoCommit(false);
+    Session session = new Session(connection, new ArrayList<>());
+    opened.add(session);
+    connections.add(session);
+    return session;
+  }
+
+  @Override
+  public void prepare() {
+    if (workers == null) {
+      connect();
+    }
+  }
+
+  @Override
+  public void startEntity(EntityDefinition definition) {
+    prepare();
+    String name = definition.getTableName() != null ? definition.getTableName() : definition.getId();
+    List<FieldDefinition> fields = definition.getFields() != null ? definition.getFields() : List.of();
+    String ddl = dialect.createTable(name, fields);
+    Session session = borrow();
+    try (Statement statement = session.connection().createStatement()) {
+      logger.debug("Creating table: {}", ddl);
+      statement.execute(ddl);
+      commit(session);
+    } catch (SQLException e) {
+      abort(session, session.uncommitted().size(), e);
+      throw new RuntimeException("Can not create table " + name + ": " + e.getMessage(), e);
+    } finally {
+      connections.add(session);
+    }
+    table = new Table(name, fields, dialect.insert(name, fields));
+  }
+
+  @Override
+  public void finishEntity(EntityDefinition definition) {
+    table = null;
+    commitAll();
+  }
+
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    Table target = table;
+    if (target == null) {
+      return CompletableFuture.failedFuture(new IllegalStateException("No table has been created"));
+    }
+    return CompletableFuture.runAsync(() -> load(target, batch), workers);
+  }
+
+  @Override
+  public void insertBatch(List<Entity> batch) {
+    writeBatch(batch).toCompletableFuture().join();
+  }
+
+  private void load(Table target, List<Entity> batch) {
+    Session session = borrow();
+    Connection connection = session.connection();
+    List<Entity> uncommitted = session.uncommitted();
+    int carried = uncommitted.size();
+    try {
+      if (useBulkLoad && dialect.bulkLoad(connection, target.name(), target.fields(), batch)) {
+        uncommitted.addAll(batch);
+        if (uncommitted.size() >= transactionSize) {
+          commit(session);
+        }
+        return;
+      }
+      try (PreparedStatement statement = connection.prepareStatement(target.insert())) {
+        List<FieldDefinition> fields = target.fields();
+        int pending = 0;
+        for (Entity record : batch) {
+          for (int i = 0; i < fields.size(); i++) {
+            dialect.bind(statement, i + 1, fields.get(i), record.getValue(i, fields.get(i).getName()));
+          }
+          statement.addBatch();
+          uncommitted.add(record);
+          if (++pending == statementBatchSize) {
+            statement.executeBatch();
+            pending = 0;
+          }
+          if (uncommitted.size() >= transactionSize) {
+            if (pending > 0) {
+              statement.executeBatch();
+              pending = 0;
+            }
+            commit(session);
+            carried = 0;
+          }
+        }
+        if (pending > 0) {
+          statement.executeBatch();
+        }
+      }
+    } catch (SQLException e) {
+      abort(session, carried, e);
+      throw new RuntimeException("Insert into " + target.name() + " failed: " + e.getMessage(), e);
+    } finally {
+      connections.add(session);
+    }
+  }
+
+  private static void commit(Session session) throws SQLException {
+    session.connection().commit();
+    session.uncommitted().clear();
+  }
+
+  private void abort(Session session, int carried, SQLException error) {
+    List<Entity> lost = session.uncommitted().subList(0, carried);
+    if (!lost.isEmpty()) {
+      logger.warn("Rolling back {} rows written by earlier batches: {}", lost.size(), error.getMessage());
+      for (Entity record : lost) {
+        deadLetter(record, error);
+      }
+    }
+    session.uncommitted().clear();
+    try {
+      session.connection().rollback();
+    } catch (SQLException e) {
+      logger.warn("Rollback failed: {}", e.getMessage());
+    }
+  }
+
+  private void commitAll() {
+    List<Session> idle = new ArrayList<>();
+    connections.drainTo(idle);
+    try {
+      for (Session session : idle) {
+        if (session.uncommitted().isEmpty()) {
+          continue;
+        }
+        try {
+          commit(session);
+        } catch (SQLException e) {
+          abort(session, session.uncommitted().size(), e);
+        }
+      }
+    } finally {
+      connections.addAll(idle);
+    }
+  }
+
+  private Session borrow() {
+    try {
+      return connections.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted waiting for a JDBC connection", e);
+    }
+  }
+
+  @Override
+  public void cleanup() {
+    if (workers != null) {
+      workers.shutdown();
+      workers = null;
+      commitAll();
+    }
+    for (Session session : opened) {
+      try {
+        session.connection().close();
+      } catch (SQLException e) {
+        logger.warn("Failed to close JDBC connection: {}", e.getMessage());
+      }
+    }
+    opened.clear();
+    connections.clear();
+  }
+}
@@ -0,0 +1,157 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.dto.TypeMapping;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class JdbcDialect {
+
+  public static JdbcDialect forProduct(String productName) {
+    String product = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+    if (product.contains("postgres")) {
+      return new PostgresDialect();
+    } else if (product.contains("sqlite")) {
+      return new SqliteDialect();
+    }
+    return new JdbcDialect();
+  }
+
+  public int maxConnections(int requested) {
+    return Math.max(1, requested);
+  }
+
+  public String quote(String identifier) {
+    return "\"" + identifier.replace("\"", "\"\"") + "\"";
+  }
+
+  public static String columnName(FieldDefinition field) {
+    return field.getColumnName() != null ? field.getColumnName() : field.getName();
+  }
+
+  public String columnType(FieldDefinition field) {
+    TypeMapping type = field.getDataType() != null ? field.getDataType() : TypeMapping.STRING;
+    return switch (type) {
+      case LONG -> "BIGINT";
+      case INTEGER -> "INTEGER";
+      case DOUBLE -> "DOUBLE PRECISION";
+      case FLOAT -> "REAL";
+      case BOOLEAN -> "BOOLEAN";
+      case LOCAL_DATE_TIME -> "TIMESTAMP";
+      case LOCAL_DATE -> "DATE";
+      case STRING -> field.getLength() != null ? "VARCHAR(" + field.getLength() + ")" : textType();
+    };
+  }
+
+  public String textType() {
+    return "VARCHAR(4000)";
+  }
+
+  public String createTable(String table, List<FieldDefinition> fields) {
+    StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(quote(table)).append(" (");
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < fields.size(); i++) {
+      FieldDefinition field = fields.get(i);
+      if (i > 0) {
+        ddl.append(", ");
+      }
+      ddl.append(quote(columnName(field))).append(' ').append(columnType(field));
+      if (!field.isNullable() || field.isPrimaryKey()) {
+        ddl.append(" NOT NULL");
+      }
+      if (field.isPrimaryKey()) {
+        keys.add(quote(columnName(field)));
+      }
+    }
+    if (!keys.isEmpty()) {
+      ddl.append(", PRIMARY KEY (").append(String.join(", ", keys)).append(')');
+    }
+    return ddl.append(')').toString();
+  }
+
+  public String insert(String table, List<FieldDefinition> fields) {
+    StringBuilder columns = new StringBuilder();
+    StringBuilder values = new StringBuilder();
+    for (int i = 0; i < fields.size(); i++) {
+      if (i > 0) {
+        columns.append(", ");
+        values.append(", ");
+      }
+      columns.append(quote(columnName(fields.get(i))));
+      values.append('?');
+    }
+    return "INSERT INTO " + quote(table) + " (" + columns + ") VALUES (" + values + ")";
+  }
+
+  public boolean bulkLoad(Connection connection, String table, List<FieldDefinition> fields, List<Entity> batch)
+      throws SQLException {
+    return false;
+  }
+
+  public void bind(PreparedStatement statement, int index, FieldDefinition field, Object value) throws SQLException {
+    TypeMapping type = field.getDataType() != null ? field.getDataType() : TypeMapping.STRING;
+    switch (type) {
+      case LONG, INTEGER -> {
+        if (value instanceof Number number) {
+          statement.setLong(index, number.longValue());
+        } else {
+          statement.setNull(index, Types.BIGINT);
+        }
+      }
+      case DOUBLE, FLOAT -> {
+        if (value instanceof Number number) {
+          statement.setDouble(index, number.doubleValue());
+        } else {
+          statement.setNull(index, Types.DOUBLE);
+        }
+      }
+      case BOOLEAN -> {
+        if (value instanceof Boolean flag) {
+          statement.setBoolean(index, flag);
+        } else {
+          statement.setNull(index, Types.BOOLEAN);
+        }
+      }
+      case LOCAL_DATE_TIME -> {
+        Timestamp timestamp = timestamp(value);
+        if (timestamp != null) {
+          statement.setTimestamp(index, timestamp);
+        } else {
+          statement.setNull(index, Types.TIMESTAMP);
+        }
+      }
+      case LOCAL_DATE -> {
+        Timestamp timestamp = timestamp(value);
+        if (timestamp != null) {
+          statement.setDate(index, new Date(timestamp.getTime()));
+        } else {
+          statement.setNull(index, Types.DATE);
+        }
+      }
+      case STRING -> {
+        if (value != null) {
+          statement.setString(index, String.valueOf(value));
+        } else {
+          statement.setNull(index, Types.VARCHAR);
+        }
+      }
+    }
+  }
+
+  public static Timestamp timestamp(Object value) {
+    if (value instanceof java.util.Date date) {
+      return new Timestamp(date.getTime());
+    } else if (value instanceof LocalDateTime time) {
+      return Timestamp.valueOf(time);
+    } else if (value instanceof LocalDate date) {
+      return Timestamp.valueOf(date.atStartOfDay());
+    }
+    return null;
+  }
+}
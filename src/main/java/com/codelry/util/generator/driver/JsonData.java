@@ -6,6 +6,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +24,13 @@ public class JsonData extends EntityLoad {
   public void prepare() {}
 
   @Override
-  public void insertBatch(List<Entity> batch) {
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    insertBatch(batch);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  @Override
+  public synchronized void insertBatch(List<Entity> batch) {
     for (Entity record : batch) {
       logger.debug("Adding record {}", record.getId());
       records.add(record.asJson());
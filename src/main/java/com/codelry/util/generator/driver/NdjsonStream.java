@@ -0,0 +1,53 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.generator.EntityLoad;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class NdjsonStream extends EntityLoad {
+  private static final Logger logger = LoggerFactory.getLogger(NdjsonStream.class);
+  private static final byte[] NEWLINE = {'\n'};
+  private final OutputStream out;
+  private long written;
+  private boolean closed;
+
+  public NdjsonStream(OutputStream out) {
+    this.out = out;
+    setMaxInFlight(1);
+  }
+
+  public synchronized long getWritten() {
+    return written;
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void prepare() {}
+
+  @Override
+  public synchronized void insertBatch(List<Entity> batch) {
+    try {
+      for (Entity record : batch) {
+        out.write(record.asBytes());
+        out.write(NEWLINE);
+      }
+      out.flush();
+      written += batch.size();
+    } catch (IOException e) {
+      closed = true;
+      logger.debug("Stream closed after {} records: {}", written, e.getMessage());
+      throw new RuntimeException("Client stream closed: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void cleanup() {}
+}
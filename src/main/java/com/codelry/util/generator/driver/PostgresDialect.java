@@ -0,0 +1,56 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.FieldDefinition;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostgresDialect extends JdbcDialect {
+
+  @Override
+  public String textType() {
+    return "TEXT";
+  }
+
+  @Override
+  public boolean bulkLoad(Connection connection, String table, List<FieldDefinition> fields, List<Entity> batch)
+      throws SQLException {
+    if (!connection.isWrapperFor(BaseConnection.class)) {
+      return false;
+    }
+    List<String> columns = new ArrayList<>(fields.size());
+    for (FieldDefinition field : fields) {
+      columns.add(quote(columnName(field)));
+    }
+    StringWriter data = new StringWriter(batch.size() * 128);
+    try (CSVPrinter printer = new CSVPrinter(data, CSVFormat.POSTGRESQL_CSV)) {
+      List<Object> row = new ArrayList<>(fields.size());
+      for (Entity record : batch) {
+        row.clear();
+        for (int i = 0; i < fields.size(); i++) {
+          Object value = record.getValue(i, fields.get(i).getName());
+          Timestamp timestamp = timestamp(value);
+          row.add(timestamp != null ? timestamp : value);
+        }
+        printer.printRecord(row);
+      }
+      CopyManager copy = new CopyManager(connection.unwrap(BaseConnection.class));
+      copy.copyIn("COPY " + quote(table) + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)",
+          new StringReader(data.toString()));
+    } catch (IOException e) {
+      throw new SQLException("COPY into " + table + " failed: " + e.getMessage(), e);
+    }
+    return true;
+  }
+}
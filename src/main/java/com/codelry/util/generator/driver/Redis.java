@@ -2,30 +2,63 @@ package com.codelry.util.generator.driver;
 
 import com.codelry.util.generator.dto.Entity;
 import com.codelry.util.generator.generator.EntityLoad;
+import com.codelry.util.generator.service.JsonCommand;
 import com.codelry.util.generator.service.ReactiveRedisJsonTemplate;
+import io.lettuce.core.RedisCommandExecutionException;
 import io.lettuce.core.RedisException;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.api.reactive.BaseRedisReactiveCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
 import org.springframework.data.redis.core.ReactiveHashOperations;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Redis extends EntityLoad {
   private static final Logger logger = LoggerFactory.getLogger(Redis.class);
+  private static final RetryBackoffSpec RETRY = Retry.backoff(10, Duration.ofMillis(10))
+      .jitter(0.5)
+      .filter(t -> isRedisError(t) && !isUnknownCommand(t))
+      .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  private final AdaptiveLimiter limiter = new AdaptiveLimiter("redis", Redis::isRedisError);
   private ReactiveHashOperations<String, String, String> hashOps;
   private ReactiveRedisJsonTemplate<String, String> jsonOps;
+  private BaseRedisReactiveCommands<byte[], byte[]> binaryOps;
+  private RedisPipeline pipeline;
   private boolean useJson;
-  public final PriorityBlockingQueue<Throwable> errorQueue = new PriorityBlockingQueue<>();
+  private int jsonMSetSize = 0;
+  private volatile boolean msetSupported = true;
 
   public void connect(ReactiveRedisTemplate<String, String> template, ReactiveRedisJsonTemplate<String, String> json) {
     this.hashOps = template.opsForHash();
     this.jsonOps = json;
+    if (registry != null) {
+      limiter.bindTo(registry);
+    }
+  }
+
+  public AdaptiveLimiter getLimiter() {
+    return limiter;
   }
 
   public void setUseJson(boolean useJson) {
@@ -33,34 +66,163 @@ public class Redis extends EntityLoad {
     logger.info("Setting JSON generation mode to {}", useJson);
   }
 
+  public void setPipeline(RedisPipeline pipeline) {
+    this.pipeline = pipeline;
+    logger.info("Using pipelined writes over {} connections", pipeline.getConnectionCount());
+  }
+
+  public void setBinaryCommands(BaseRedisReactiveCommands<byte[], byte[]> binaryOps) {
+    this.binaryOps = binaryOps;
+  }
+
+  public void setJsonMSetSize(int jsonMSetSize) {
+    this.jsonMSetSize = jsonMSetSize;
+    logger.info("Setting JSON.MSET group size to {}", jsonMSetSize);
+  }
+
+  public boolean isJsonMSetSupported() {
+    return msetSupported;
+  }
+
+  static boolean isRedisError(Throwable t) {
+    return t instanceof RedisException || t.getCause() instanceof RedisException;
+  }
+
+  static boolean isUnknownCommand(Throwable t) {
+    for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+      if (cause instanceof RedisCommandExecutionException && cause.getMessage() != null
+          && cause.getMessage().toLowerCase().contains("unknown command")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void prepare() {}
 
-  private void insertBatchHash(List<Entity> batch) {
-    Flux.fromIterable(batch)
-        .flatMap(record -> hashOps.putAll(record.getId(), record.asMap()))
-        .retryWhen(Retry.backoff(10, Duration.ofMillis(10)).filter(t -> t instanceof RedisException))
-        .doOnError(errorQueue::put)
-        .blockLast();
+  private Mono<Void> insertBatchHash(List<Entity> batch) {
+    if (pipeline != null) {
+      return pipelined(batch,
+          (commands, record) -> commands.dispatch(CommandType.HSET, new IntegerOutput<>(StringCodec.UTF8),
+              HashEncoder.appendFields(new CommandArgs<>(StringCodec.UTF8).addKey(record.getId()), record)),
+          this::hset);
+    }
+    return Flux.fromIterable(batch)
+        .flatMap(record -> write(record, () -> hset(record)), limiter.getMaxLimit())
+        .then();
   }
 
-  private void insertBatchJson(List<Entity> batch) {
-    Flux.fromIterable(batch)
-        .flatMap(record -> jsonOps.jsonSet(record.getId(), "$", record.asJson()))
-        .retryWhen(Retry.backoff(10, Duration.ofMillis(10)).filter(t -> t instanceof RedisException))
-        .doOnError(errorQueue::put)
-        .blockLast();
+  private Mono<Boolean> hset(Entity record) {
+    if (binaryOps == null) {
+      return hashOps.putAll(record.getId(), record.asMap());
+    }
+    return binaryOps.<Long>dispatch(
+            CommandType.HSET,
+            new IntegerOutput<>(ByteArrayCodec.INSTANCE),
+            HashEncoder.appendFields(new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(HashEncoder.key(record.getId())), record))
+        .next()
+        .map(count -> true);
   }
 
-  @Override
-  public void insertBatch(List<Entity> batch) {
-    if (useJson) {
-      insertBatchJson(batch);
+  private Mono<Void> insertBatchJson(List<Entity> batch) {
+    if (jsonMSetSize > 1 && msetSupported) {
+      return insertBatchMSet(batch);
+    }
+    return insertBatchJsonSet(batch);
+  }
+
+  private Mono<Void> insertBatchMSet(List<Entity> batch) {
+    return Flux.fromIterable(msetGroups(batch))
+        .flatMap(group -> limiter.execute(() -> jsonOps.jsonMSetRaw("$", documents(group)))
+            .retryWhen(RETRY)
+            .then()
+            .onErrorResume(e -> {
+              if (isUnknownCommand(e)) {
+                msetSupported = false;
+                logger.warn("Server does not support JSON.MSET, falling back to JSON.SET");
+              }
+              return insertBatchJsonSet(group);
+            }), limiter.getMaxLimit())
+        .then();
+  }
+
+  private List<List<Entity>> msetGroups(List<Entity> batch) {
+    List<List<Entity>> groups = new ArrayList<>();
+    Collection<List<Entity>> partitions;
+    if (jsonOps.isCluster()) {
+      Map<Integer, List<Entity>> bySlot = new LinkedHashMap<>();
+      for (Entity record : batch) {
+        bySlot.computeIfAbsent(SlotHash.getSlot(record.getId()), slot -> new ArrayList<>()).add(record);
+      }
+      partitions = bySlot.values();
     } else {
-      insertBatchHash(batch);
+      partitions = List.of(batch);
+    }
+    for (List<Entity> records : partitions) {
+      for (int from = 0; from < records.size(); from += jsonMSetSize) {
+        groups.add(records.subList(from, Math.min(from + jsonMSetSize, records.size())));
+      }
+    }
+    return groups;
+  }
+
+  private static Map<String, byte[]> documents(List<Entity> group) {
+    Map<String, byte[]> documents = new LinkedHashMap<>();
+    for (Entity record : group) {
+      documents.put(record.getId(), record.asBytes());
     }
+    return documents;
+  }
+
+  private Mono<Void> insertBatchJsonSet(List<Entity> batch) {
+    if (pipeline != null) {
+      return pipelined(batch,
+          (commands, record) -> commands.dispatch(JsonCommand.JSON_SET, new StatusOutput<>(StringCodec.UTF8),
+              new CommandArgs<>(StringCodec.UTF8).addKey(record.getId()).add("$").add(record.asBytes())),
+          record -> jsonOps.jsonSetRaw(record.getId(), "$", record.asBytes()));
+    }
+    return Flux.fromIterable(batch)
+        .flatMap(record -> write(record, () -> jsonOps.jsonSetRaw(record.getId(), "$", record.asBytes())),
+            limiter.getMaxLimit())
+        .then();
+  }
+
+  private Mono<Void> pipelined(List<Entity> batch, RedisPipeline.Command command,
+                               Function<Entity, Mono<Boolean>> fallback) {
+    int size = pipeline.getCommandBatchSize();
+    return Flux.range(0, (batch.size() + size - 1) / size)
+        .map(i -> batch.subList(i * size, Math.min((i + 1) * size, batch.size())))
+        .flatMap(chunk -> limiter.execute(() -> Mono.fromCompletionStage(() -> pipeline.write(chunk, command))),
+            limiter.getMaxLimit())
+        .flatMap(Flux::fromIterable)
+        .flatMap(record -> write(record, () -> fallback.apply(record)), limiter.getMaxLimit())
+        .then();
+  }
+
+  private Mono<Void> write(Entity record, Supplier<Mono<Boolean>> command) {
+    return limiter.execute(command)
+        .retryWhen(RETRY)
+        .then()
+        .onErrorResume(e -> deadLetter(record, e) ? Mono.empty() : Mono.error(e));
+  }
+
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    return (useJson ? insertBatchJson(batch) : insertBatchHash(batch)).toFuture();
   }
 
   @Override
-  public void cleanup() {}
+  public void insertBatch(List<Entity> batch) {
+    writeBatch(batch).toCompletableFuture().join();
+  }
+
+  @Override
+  public void cleanup() {
+    limiter.unbind();
+    if (pipeline != null) {
+      pipeline.close();
+      pipeline = null;
+    }
+  }
 }
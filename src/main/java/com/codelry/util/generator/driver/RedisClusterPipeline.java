@@ -0,0 +1,80 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class RedisClusterPipeline extends RedisPipeline {
+  private static final Logger logger = LoggerFactory.getLogger(RedisClusterPipeline.class);
+  private final List<StatefulRedisClusterConnection<String, String>> connections = new ArrayList<>();
+
+  public RedisClusterPipeline(RedisClusterClient client, int connectionCount, int commandBatchSize) {
+    super(commandBatchSize);
+    try {
+      for (int i = 0; i < Math.max(1, connectionCount); i++) {
+        StatefulRedisClusterConnection<String, String> connection = client.connect(StringCodec.UTF8);
+        connection.setAutoFlushCommands(false);
+        connections.add(connection);
+      }
+    } catch (Exception e) {
+      close();
+      throw new RuntimeException("Can not open cluster pipeline connections: " + e.getMessage(), e);
+    }
+    logger.info("Opened {} cluster pipeline connections with command batch size {}", connections.size(), commandBatchSize);
+  }
+
+  @Override
+  public int getConnectionCount() {
+    return connections.size();
+  }
+
+  @Override
+  public CompletableFuture<List<Entity>> write(List<Entity> batch, Command command) {
+    StatefulRedisClusterConnection<String, String> connection =
+        connections.get(Math.floorMod(next.getAndIncrement(), connections.size()));
+    Partitions partitions = connection.getPartitions();
+    Map<String, List<Entity>> byNode = new HashMap<>();
+    Queue<Entity> failed = new ConcurrentLinkedQueue<>();
+    for (Entity record : batch) {
+      RedisClusterNode node = partitions.getMasterBySlot(SlotHash.getSlot(record.getId()));
+      if (node == null) {
+        failed.add(record);
+        continue;
+      }
+      byNode.computeIfAbsent(node.getNodeId(), id -> new ArrayList<>()).add(record);
+    }
+    List<CompletableFuture<?>> pending = new ArrayList<>(batch.size());
+    for (Map.Entry<String, List<Entity>> entry : byNode.entrySet()) {
+      StatefulRedisConnection<String, String> nodeConnection = connection.getConnection(entry.getKey());
+      List<Entity> records = entry.getValue();
+      for (int from = 0; from < records.size(); from += commandBatchSize) {
+        List<Entity> chunk = records.subList(from, Math.min(from + commandBatchSize, records.size()));
+        send(nodeConnection, nodeConnection.async(), chunk, command, failed, pending);
+      }
+    }
+    return collect(pending, failed);
+  }
+
+  @Override
+  public void close() {
+    for (StatefulRedisClusterConnection<String, String> connection : connections) {
+      try {
+        connection.close();
+      } catch (Exception e) {
+        logger.warn("Failed to close cluster pipeline connection: {}", e.getMessage());
+      }
+    }
+    connections.clear();
+  }
+}
@@ -0,0 +1,106 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.Entity;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.async.BaseRedisAsyncCommands;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RedisPipeline implements AutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(RedisPipeline.class);
+  private final GenericObjectPool<StatefulRedisModulesConnection<String, String>> pool;
+  private final List<StatefulRedisModulesConnection<String, String>> connections = new ArrayList<>();
+  protected final int commandBatchSize;
+  protected final AtomicInteger next = new AtomicInteger();
+
+  @FunctionalInterface
+  public interface Command {
+    RedisFuture<?> issue(BaseRedisAsyncCommands<String, String> commands, Entity record);
+  }
+
+  protected RedisPipeline(int commandBatchSize) {
+    this.pool = null;
+    this.commandBatchSize = Math.max(1, commandBatchSize);
+  }
+
+  public RedisPipeline(GenericObjectPool<StatefulRedisModulesConnection<String, String>> pool,
+                       int connectionCount, int commandBatchSize) {
+    this.pool = pool;
+    this.commandBatchSize = Math.max(1, commandBatchSize);
+    try {
+      for (int i = 0; i < Math.max(1, connectionCount); i++) {
+        StatefulRedisModulesConnection<String, String> connection = pool.borrowObject();
+        connection.setAutoFlushCommands(false);
+        connections.add(connection);
+      }
+    } catch (Exception e) {
+      close();
+      throw new RuntimeException("Can not open pipeline connections: " + e.getMessage(), e);
+    }
+    logger.info("Opened {} pipeline connections with command batch size {}", connections.size(), this.commandBatchSize);
+  }
+
+  public int getConnectionCount() {
+    return connections.size();
+  }
+
+  public int getCommandBatchSize() {
+    return commandBatchSize;
+  }
+
+  public CompletableFuture<List<Entity>> write(List<Entity> batch, Command command) {
+    Queue<Entity> failed = new ConcurrentLinkedQueue<>();
+    List<CompletableFuture<?>> pending = new ArrayList<>(batch.size());
+    for (int from = 0; from < batch.size(); from += commandBatchSize) {
+      List<Entity> chunk = batch.subList(from, Math.min(from + commandBatchSize, batch.size()));
+      StatefulRedisModulesConnection<String, String> connection =
+          connections.get(Math.floorMod(next.getAndIncrement(), connections.size()));
+      send(connection, connection.async(), chunk, command, failed, pending);
+    }
+    return collect(pending, failed);
+  }
+
+  protected static void send(StatefulConnection<String, String> connection, BaseRedisAsyncCommands<String, String> commands,
+                             List<Entity> chunk, Command command, Queue<Entity> failed,
+                             List<CompletableFuture<?>> pending) {
+    synchronized (connection) {
+      for (Entity record : chunk) {
+        pending.add(command.issue(commands, record).toCompletableFuture().handle((result, error) -> {
+          if (error != null) {
+            failed.add(record);
+          }
+          return null;
+        }));
+      }
+      connection.flushCommands();
+    }
+  }
+
+  protected static CompletableFuture<List<Entity>> collect(List<CompletableFuture<?>> pending, Queue<Entity> failed) {
+    return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+        .thenApply(ignored -> new ArrayList<>(failed));
+  }
+
+  @Override
+  public void close() {
+    for (StatefulRedisModulesConnection<String, String> connection : connections) {
+      try {
+        connection.setAutoFlushCommands(true);
+        pool.returnObject(connection);
+      } catch (Exception e) {
+        logger.warn("Failed to return pipeline connection: {}", e.getMessage());
+      }
+    }
+    connections.clear();
+  }
+}
@@ -0,0 +1,22 @@
+package com.codelry.util.generator.driver;
+
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.dto.TypeMapping;
+
+public class SqliteDialect extends JdbcDialect {
+
+  @Override
+  public int maxConnections(int requested) {
+    return 1;
+  }
+
+  @Override
+  public String columnType(FieldDefinition field) {
+    TypeMapping type = field.getDataType() != null ? field.getDataType() : TypeMapping.STRING;
+    return switch (type) {
+      case LONG, INTEGER, BOOLEAN, LOCAL_DATE_TIME, LOCAL_DATE -> "INTEGER";
+      case DOUBLE, FLOAT -> "REAL";
+      case STRING -> "TEXT";
+    };
+  }
+}
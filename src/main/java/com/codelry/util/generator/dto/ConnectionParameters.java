@@ -14,7 +14,14 @@ public class ConnectionParameters {
   private String collection = "_default";
   private boolean useSsl = false;
   private boolean useJson = false;
+  private boolean useCluster = false;
   private boolean tlsSkipVerify = false;
+  private boolean usePipeline = false;
+  private int pipelineConnections = 4;
+  private int pipelineBatchSize = 500;
+  private int jsonConnections = 4;
+  private String jsonDispatch = "least-pending";
+  private int jsonMSetSize = 0;
 
   public String getType() {
     return type;
@@ -106,6 +113,14 @@ public class ConnectionParameters {
     this.useJson = useJson;
   }
 
+  public boolean isUseCluster() {
+    return useCluster;
+  }
+
+  public void setUseCluster(boolean useCluster) {
+    this.useCluster = useCluster;
+  }
+
   public boolean isTlsSkipVerify() {
     return tlsSkipVerify;
   }
@@ -113,4 +128,52 @@ public class ConnectionParameters {
   public void setTlsSkipVerify(boolean tlsSkipVerify) {
     this.tlsSkipVerify = tlsSkipVerify;
   }
+
+  public boolean isUsePipeline() {
+    return usePipeline;
+  }
+
+  public void setUsePipeline(boolean usePipeline) {
+    this.usePipeline = usePipeline;
+  }
+
+  public int getPipelineConnections() {
+    return pipelineConnections;
+  }
+
+  public void setPipelineConnections(int pipelineConnections) {
+    this.pipelineConnections = pipelineConnections;
+  }
+
+  public int getPipelineBatchSize() {
+    return pipelineBatchSize;
+  }
+
+  public void setPipelineBatchSize(int pipelineBatchSize) {
+    this.pipelineBatchSize = pipelineBatchSize;
+  }
+
+  public int getJsonConnections() {
+    return jsonConnections;
+  }
+
+  public void setJsonConnections(int jsonConnections) {
+    this.jsonConnections = jsonConnections;
+  }
+
+  public String getJsonDispatch() {
+    return jsonDispatch;
+  }
+
+  public void setJsonDispatch(String jsonDispatch) {
+    this.jsonDispatch = jsonDispatch;
+  }
+
+  public int getJsonMSetSize() {
+    return jsonMSetSize;
+  }
+
+  public void setJsonMSetSize(int jsonMSetSize) {
+    this.jsonMSetSize = jsonMSetSize;
+  }
 }
@@ -1,6 +1,7 @@
 package com.codelry.util.generator.dto;
 
 import com.codelry.util.generator.generator.EntitySerializer;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -11,15 +12,24 @@ import java.util.List;
 import java.util.Map;
 
 public class Entity {
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .registerModule(new SimpleModule().addSerializer(Entity.class, new EntitySerializer()));
   public String id;
   public long index;
   public List<Field> fields = new ArrayList<>();
+  public JsonNode document;
 
   public Entity(String id, List<Field> fields) {
     this.id = id;
     this.fields = fields;
   }
 
+  public Entity(String id, long index, JsonNode document) {
+    this.id = id;
+    this.index = index;
+    this.document = document;
+  }
+
   public Entity() {}
 
   public String getId() { return id; }
@@ -28,6 +38,8 @@ public class Entity {
 
   public List<Field> getFields() { return fields; }
 
+  public JsonNode getDocument() { return document; }
+
   public void setId(String id) { this.id = id; }
 
   public void setIndex(long index) { this.index = index; }
@@ -36,18 +48,45 @@ public class Entity {
 
   public void addField(Field field) { fields.add(field); }
 
+  public Object getValue(int position, String name) {
+    if (position < fields.size() && name.equals(fields.get(position).getName())) {
+      return fields.get(position).getValue();
+    }
+    for (Field field : fields) {
+      if (name.equals(field.getName())) {
+        return field.getValue();
+      }
+    }
+    return null;
+  }
+
   public Map<String, String> asMap() {
     Map<String, String> map = new HashMap<>();
+    if (document != null) {
+      document.fields().forEachRemaining(entry ->
+          map.put(entry.getKey(), entry.getValue().isValueNode() ? entry.getValue().asText() : entry.getValue().toString()));
+      return map;
+    }
     getFields().forEach(field ->
         map.put(field.getName(), String.valueOf(field.getValue())));
     return map;
   }
 
   public JsonNode asJson() {
-    ObjectMapper mapper = new ObjectMapper();
-    SimpleModule module = new SimpleModule();
-    module.addSerializer(Entity.class, new EntitySerializer());
-    mapper.registerModule(module);
-    return mapper.valueToTree(this);
+    if (document != null) {
+      return document;
+    }
+    return MAPPER.valueToTree(this);
+  }
+
+  public byte[] asBytes() {
+    if (document != null) {
+      try {
+        return MAPPER.writeValueAsBytes(document);
+      } catch (JsonProcessingException e) {
+        throw new RuntimeException("Failed to serialize document " + id, e);
+      }
+    }
+    return EntitySerializer.toBytes(this);
   }
 }
@@ -17,6 +17,12 @@ public class EntityCollection {
   @JsonProperty("tables")
   public List<EntityDefinition> entities;
 
+  @JsonProperty("seed")
+  public Long seed;
+
+  @JsonProperty("epoch")
+  public Long epoch;
+
   public EntityCollection() {}
 
   public String getId() { return id; }
@@ -30,4 +36,10 @@ public class EntityCollection {
 
   public List<EntityDefinition> getEntities() { return entities; }
   public void setEntities(List<EntityDefinition> entities) { this.entities = entities; }
+
+  public Long getSeed() { return seed; }
+  public void setSeed(Long seed) { this.seed = seed; }
+
+  public Long getEpoch() { return epoch; }
+  public void setEpoch(Long epoch) { this.epoch = epoch; }
 }
@@ -20,6 +20,9 @@ public class EntityDefinition {
   @JsonProperty("keyFormat")
   public String keyFormat;
 
+  @JsonProperty("hashTag")
+  private String hashTag;
+
   @JsonProperty("columns")
   private List<FieldDefinition> fields;
 
@@ -71,6 +74,14 @@ public class EntityDefinition {
     this.keyFormat = keyFormat;
   }
 
+  public String getHashTag() {
+    return hashTag;
+  }
+
+  public void setHashTag(String hashTag) {
+    this.hashTag = hashTag;
+  }
+
   public List<FieldDefinition> getFields() {
     return fields;
   }
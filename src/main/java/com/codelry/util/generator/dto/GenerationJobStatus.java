@@ -2,6 +2,8 @@ package com.codelry.util.generator.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.Map;
+
 public class GenerationJobStatus {
 
   @JsonProperty("jobId")
@@ -25,6 +27,18 @@ public class GenerationJobStatus {
   @JsonProperty("message")
   private String message;
 
+  @JsonProperty("seed")
+  private long seed;
+
+  @JsonProperty("epoch")
+  private long epoch;
+
+  @JsonProperty("deadLetterCount")
+  private long deadLetterCount;
+
+  @JsonProperty("errorCounts")
+  private Map<String, Long> errorCounts;
+
   @JsonProperty("startedAt")
   private long startedAt;
 
@@ -89,6 +103,38 @@ public class GenerationJobStatus {
     this.message = message;
   }
 
+  public long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public void setEpoch(long epoch) {
+    this.epoch = epoch;
+  }
+
+  public long getDeadLetterCount() {
+    return deadLetterCount;
+  }
+
+  public void setDeadLetterCount(long deadLetterCount) {
+    this.deadLetterCount = deadLetterCount;
+  }
+
+  public Map<String, Long> getErrorCounts() {
+    return errorCounts;
+  }
+
+  public void setErrorCounts(Map<String, Long> errorCounts) {
+    this.errorCounts = errorCounts;
+  }
+
   public long getStartedAt() {
     return startedAt;
   }
@@ -3,6 +3,7 @@ package com.codelry.util.generator.dto;
 public enum GenerationStatus {
   RUNNING,
   COMPLETED,
+  COMPLETED_WITH_ERRORS,
   CANCELLED,
   FAILED
 }
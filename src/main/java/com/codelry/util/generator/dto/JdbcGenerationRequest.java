@@ -0,0 +1,74 @@
+package com.codelry.util.generator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class JdbcGenerationRequest {
+
+  @JsonProperty("url")
+  private String url;
+
+  @JsonProperty("username")
+  private String username;
+
+  @JsonProperty("password")
+  private String password;
+
+  @JsonProperty("connections")
+  private int connections = 4;
+
+  @JsonProperty("transactionSize")
+  private int transactionSize = 10000;
+
+  @JsonProperty("schema")
+  private EntityCollection schema;
+
+  public JdbcGenerationRequest() {}
+
+  public String getUrl() {
+    return url;
+  }
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+  public int getConnections() {
+    return connections;
+  }
+
+  public void setConnections(int connections) {
+    this.connections = connections;
+  }
+
+  public int getTransactionSize() {
+    return transactionSize;
+  }
+
+  public void setTransactionSize(int transactionSize) {
+    this.transactionSize = transactionSize;
+  }
+
+  public EntityCollection getSchema() {
+    return schema;
+  }
+
+  public void setSchema(EntityCollection schema) {
+    this.schema = schema;
+  }
+}
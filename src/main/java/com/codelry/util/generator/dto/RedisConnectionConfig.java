@@ -9,6 +9,7 @@ public class RedisConnectionConfig {
   private int database = 0;
   private boolean useSsl = false;
   private boolean useJson = false;
+  private boolean useCluster = false;
   private String keystorePath = "";
   private String keystorePassword = "";
   private String keystoreType = "PKCS12";
@@ -21,6 +22,12 @@ public class RedisConnectionConfig {
   private int maxIdle = 10;
   private int minIdle = 2;
   private Duration maxWait = Duration.ofMillis(5000);
+  private boolean usePipeline = false;
+  private int pipelineConnections = 4;
+  private int pipelineBatchSize = 500;
+  private int jsonConnections = 4;
+  private String jsonDispatch = "least-pending";
+  private int jsonMSetSize = 0;
 
   public String getHost() { return host; }
   public void setHost(String host) { this.host = host; }
@@ -40,6 +47,9 @@ public class RedisConnectionConfig {
   public boolean isUseJson() { return useJson; }
   public void setUseJson(boolean useJson) { this.useJson = useJson; }
 
+  public boolean isUseCluster() { return useCluster; }
+  public void setUseCluster(boolean useCluster) { this.useCluster = useCluster; }
+
   public String getKeystorePath() { return keystorePath; }
   public void setKeystorePath(String keystorePath) { this.keystorePath = keystorePath; }
 
@@ -75,4 +85,22 @@ public class RedisConnectionConfig {
 
   public Duration getMaxWait() { return maxWait; }
   public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+  public boolean isUsePipeline() { return usePipeline; }
+  public void setUsePipeline(boolean usePipeline) { this.usePipeline = usePipeline; }
+
+  public int getPipelineConnections() { return pipelineConnections; }
+  public void setPipelineConnections(int pipelineConnections) { this.pipelineConnections = pipelineConnections; }
+
+  public int getPipelineBatchSize() { return pipelineBatchSize; }
+  public void setPipelineBatchSize(int pipelineBatchSize) { this.pipelineBatchSize = pipelineBatchSize; }
+
+  public int getJsonConnections() { return jsonConnections; }
+  public void setJsonConnections(int jsonConnections) { this.jsonConnections = jsonConnections; }
+
+  public String getJsonDispatch() { return jsonDispatch; }
+  public void setJsonDispatch(String jsonDispatch) { this.jsonDispatch = jsonDispatch; }
+
+  public int getJsonMSetSize() { return jsonMSetSize; }
+  public void setJsonMSetSize(int jsonMSetSize) { this.jsonMSetSize = jsonMSetSize; }
 }
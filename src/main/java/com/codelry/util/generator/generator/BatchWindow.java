@@ -0,0 +1,87 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+public class BatchWindow {
+  private final EntitySink sink;
+  private final int capacity;
+  private final Semaphore permits;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final LongConsumer progress;
+  private long completedRecords;
+
+  public BatchWindow(EntitySink sink, int capacity, LongConsumer progress) {
+    this.sink = sink;
+    this.capacity = Math.max(1, capacity);
+    this.permits = new Semaphore(this.capacity);
+    this.progress = progress;
+  }
+
+  public void submit(List<Entity> batch) throws InterruptedException {
+    checkFailure();
+    permits.acquire();
+    CompletionStage<Void> stage;
+    try {
+      stage = sink.writeBatch(batch);
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+    stage.whenComplete((result, error) -> {
+      try {
+        if (error != null) {
+          failure.compareAndSet(null, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        } else {
+          completed(batch.size());
+        }
+      } finally {
+        permits.release();
+      }
+    });
+  }
+
+  private synchronized void completed(int count) {
+    completedRecords += count;
+    if (progress != null) {
+      progress.accept(completedRecords);
+    }
+  }
+
+  public synchronized long getCompletedRecords() {
+    return completedRecords;
+  }
+
+  public void awaitIdle() {
+    try {
+      permits.acquire(capacity);
+      permits.release(capacity);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public long drain() throws InterruptedException {
+    permits.acquire(capacity);
+    permits.release(capacity);
+    checkFailure();
+    return getCompletedRecords();
+  }
+
+  private void checkFailure() {
+    Throwable t = failure.get();
+    if (t == null) {
+      return;
+    }
+    if (t instanceof RuntimeException e) {
+      throw e;
+    }
+    throw new RuntimeException(t.getMessage(), t);
+  }
+}
@@ -0,0 +1,6 @@
+package com.codelry.util.generator.generator;
+
+@FunctionalInterface
+public interface ColumnGenerator {
+  Object generate(RecordContext record);
+}
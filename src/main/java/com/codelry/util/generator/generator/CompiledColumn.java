@@ -0,0 +1,148 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.ColumnType;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.dto.TypeMapping;
+import com.codelry.util.generator.util.ColumnOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Set;
+
+public final class CompiledColumn {
+  private static final Logger LOGGER = LogManager.getLogger(CompiledColumn.class);
+  private final String name;
+  private final TypeMapping dataType;
+  private final ColumnType type;
+  private final ColumnGenerator generator;
+  private final Set<ReferenceData> references;
+
+  private CompiledColumn(String name, TypeMapping dataType, ColumnType type, ColumnGenerator generator) {
+    this.name = name;
+    this.dataType = dataType;
+    this.type = type;
+    this.generator = generator;
+    this.references = ReferenceData.usedBy(type);
+  }
+
+  public static CompiledColumn compile(FieldDefinition definition) {
+    ColumnType type = definition.getType() != null ? definition.getType() : ColumnType.UNKNOWN;
+    return new CompiledColumn(definition.getName(), definition.getDataType(), type, generatorFor(definition, type));
+  }
+
+  private static ColumnGenerator generatorFor(FieldDefinition definition, ColumnType type) {
+    switch (type) {
+      case SEQUENTIAL_NUMBER:
+        return RecordContext::getIndex;
+      case FIRST_NAME:
+        return record -> record.getName().first;
+      case LAST_NAME:
+        return record -> record.getName().last;
+      case FULL_NAME:
+        return record -> record.getName().fullName();
+      case EMAIL:
+        return record -> record.getName().emailAddress();
+      case STREET_ADDRESS:
+        return record -> record.getAddress().number + " " + record.getAddress().street;
+      case CITY:
+        return record -> record.getAddress().city;
+      case STATE:
+        return record -> record.getAddress().state;
+      case ZIPCODE:
+        return record -> record.getAddress().zip;
+      case UUID:
+        return record -> record.getRandomizer().randomUuid();
+      case CREDIT_CARD:
+        return record -> record.getRandomizer().randomCreditCardNumber();
+      case PHONE_NUMBER:
+        return record -> record.getRandomizer().randomPhoneNumber(record.getAddress().state);
+      case BOOLEAN:
+        return record -> record.getRandomizer().randomBoolean();
+      case NUMBER:
+        int digits = ColumnOptions.getIntValue(definition.getOptions(), "digits", 5);
+        return record -> (long) record.getRandomizer().randomNumber(digits, false);
+      case VALUE:
+        Number fixedValue = ColumnOptions.getNumericValue(definition.getOptions());
+        return record -> fixedValue;
+      case DOLLAR_AMOUNT:
+        return record -> record.getRandomizer().randomDollarAmount(4);
+      case ACCOUNT_NUMBER:
+        return record -> String.format("%012d", record.getRandomizer().randomNumber(1_000_000, 100_000_000));
+      case DATE:
+        return record -> record.getRandomizer().randomDate(-2);
+      case TIMESTAMP:
+        return record -> record.getRandomizer().dateNow();
+      case TEXT:
+        return record -> record.getRandomizer().loremText(25);
+      case MAC_ADDRESS:
+        return record -> {
+          byte[] bytes = new byte[6];
+          record.getRandomizer().randomBytes(bytes);
+          return String.format("%02X:%02X:%02X:%02X:%02X:%02X", bytes[0], bytes[1], bytes[2], bytes[3], bytes[4], bytes[5]);
+        };
+      case IP_ADDRESS:
+        return record -> record.getRandomizer().randomIpAddress();
+      case SET:
+        List<String> members = ColumnOptions.getSetMembers(definition.getOptions());
+        return record -> members;
+      case WORD:
+        String word = ColumnOptions.getWordValue(definition.getOptions());
+        return record -> word;
+      case PRODUCT_NAME:
+        return record -> record.getProduct().name;
+      case MANUFACTURER:
+        return record -> record.getProduct().manufacturer;
+      case PRODUCT_TYPE:
+        return record -> record.getProduct().category;
+      case AIRLINE_CODE:
+        return record -> record.getAirline().code;
+      case AIRPORT_ORIG_CODE:
+        return record -> record.getAirportOrig().code;
+      case AIRPORT_ORIG_NAME:
+        return record -> record.getAirportOrig().name;
+      case AIRPORT_ORIG_CITY:
+        return record -> record.getAirportOrig().city;
+      case AIRPORT_DEST_CODE:
+        return record -> record.getAirportDest().code;
+      case AIRPORT_DEST_NAME:
+        return record -> record.getAirportDest().name;
+      case AIRPORT_DEST_CITY:
+        return record -> record.getAirportDest().city;
+      case AIRLINE_NAME:
+        return record -> record.getAirline().name;
+      case BOOKING_CODE:
+        return record -> record.getRandomizer().randomBookingCode();
+      case CABIN_CODE:
+        return record -> record.getRandomizer().randomCabinCode();
+      default:
+        LOGGER.warn("Unknown column type: {}", definition.getType());
+        return record -> "unknown";
+    }
+  }
+
+  public Field generate(RecordContext record) {
+    return new Field(dataType, name, generator.generate(record));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public TypeMapping getDataType() {
+    return dataType;
+  }
+
+  public ColumnType getType() {
+    return type;
+  }
+
+  public ColumnGenerator getGenerator() {
+    return generator;
+  }
+
+  public Set<ReferenceData> getReferences() {
+    return references;
+  }
+}
@@ -8,19 +8,19 @@ import org.apache.logging.log4j.Logger;
 
 public abstract class DataLoad {
   private static final Logger LOGGER = LogManager.getLogger(DataLoad.class);
-  private static int batchSize = 5000;
-  private static long recordCount = 1;
-  private static long recordStart = 1;
+  private int batchSize = 5000;
+  private long recordCount = 1;
+  private long recordStart = 1;
   public SchemaCollection schema;
 
   public void init(SchemaCollection schema, long start, long count) {
     this.schema = schema;
-    recordCount = count;
-    recordStart = start;
+    this.recordCount = count;
+    this.recordStart = start;
   }
 
   public void setBatchSize(int batchSize) {
-    DataLoad.batchSize = batchSize;
+    this.batchSize = batchSize;
   }
 
   public abstract void prepare();
@@ -0,0 +1,100 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DeadLetterStore {
+  private final int capacity;
+  private final Queue<Entity> records = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final Map<String, LongAdder> errorCounts;
+  private final LongAdder overflow;
+
+  public DeadLetterStore(int capacity) {
+    this(capacity, new ConcurrentHashMap<>(), new LongAdder());
+  }
+
+  private DeadLetterStore(int capacity, Map<String, LongAdder> errorCounts, LongAdder overflow) {
+    this.capacity = capacity;
+    this.errorCounts = errorCounts;
+    this.overflow = overflow;
+  }
+
+  public DeadLetterStore forRedrive() {
+    return new DeadLetterStore(capacity, errorCounts, overflow);
+  }
+
+  public boolean add(Entity record, Throwable error) {
+    errorCounts.computeIfAbsent(errorClass(error), k -> new LongAdder()).increment();
+    if (size.incrementAndGet() > capacity) {
+      size.decrementAndGet();
+      overflow.increment();
+      return false;
+    }
+    records.add(record);
+    return true;
+  }
+
+  static String errorClass(Throwable error) {
+    Throwable cause = error;
+    while (isWrapper(cause) && cause.getCause() != null && cause.getCause() != cause) {
+      cause = cause.getCause();
+    }
+    return cause.getClass().getSimpleName();
+  }
+
+  private static boolean isWrapper(Throwable error) {
+    return error.getClass() == RuntimeException.class
+        || error instanceof CompletionException
+        || error instanceof ExecutionException
+        || error instanceof UndeclaredThrowableException;
+  }
+
+  public List<Entity> drain() {
+    List<Entity> drained = new ArrayList<>();
+    Entity record;
+    while ((record = records.poll()) != null) {
+      size.decrementAndGet();
+      drained.add(record);
+    }
+    return drained;
+  }
+
+  public List<Entity> snapshot() {
+    return new ArrayList<>(records);
+  }
+
+  public List<String> getKeys() {
+    List<String> keys = new ArrayList<>();
+    for (Entity record : records) {
+      keys.add(record.getId());
+    }
+    return keys;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getOverflow() {
+    return overflow.sum();
+  }
+
+  public Map<String, Long> getErrorCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    errorCounts.forEach((name, count) -> counts.put(name, count.sum()));
+    return counts;
+  }
+}
@@ -10,10 +10,10 @@ import java.security.NoSuchAlgorithmException;
 
 public class DocumentFilter implements Filter {
   public static final String NAME = "extract";
-  public static JsonNode document;
+  private final JsonNode document;
 
   public DocumentFilter(JsonNode doc) {
-    document = doc;
+    this.document = doc;
   }
 
   public String docMD5Hash() {
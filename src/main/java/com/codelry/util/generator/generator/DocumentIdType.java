@@ -1,9 +1,49 @@
 package com.codelry.util.generator.generator;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public enum DocumentIdType {
   RANDOM_UUID,
   MD5_HASH,
   COLLECTION_NAME,
   INDEX,
-  PATTERN
+  PATTERN;
+
+  private static final Pattern UUID_TEMPLATE = Pattern.compile("^\\{\\{\\s*(random_uuid\\(\\s*\\)|RANDOM_UUID)\\s*}}$");
+  private static final Pattern HASH_TEMPLATE = Pattern.compile("^\\{\\{\\s*doc_hash\\(\\s*\\)\\s*}}$");
+  private static final Pattern INDEX_TEMPLATE = Pattern.compile("^\\{\\{\\s*(?:index\\(\\s*(\\d+)\\s*\\)|INDEX)\\s*}}$");
+
+  public static DocumentIdType resolve(String idTemplate) {
+    if (idTemplate == null || idTemplate.isBlank()) {
+      return RANDOM_UUID;
+    }
+    String template = idTemplate.trim();
+    for (DocumentIdType type : values()) {
+      if (type != PATTERN && type.name().equalsIgnoreCase(template)) {
+        return type;
+      }
+    }
+    if (UUID_TEMPLATE.matcher(template).matches()) {
+      return RANDOM_UUID;
+    }
+    if (HASH_TEMPLATE.matcher(template).matches()) {
+      return MD5_HASH;
+    }
+    if (INDEX_TEMPLATE.matcher(template).matches()) {
+      return INDEX;
+    }
+    return PATTERN;
+  }
+
+  public static int indexPadding(String idTemplate) {
+    if (idTemplate == null) {
+      return 1;
+    }
+    Matcher matcher = INDEX_TEMPLATE.matcher(idTemplate.trim());
+    if (matcher.matches() && matcher.group(1) != null) {
+      return Math.max(1, Integer.parseInt(matcher.group(1)));
+    }
+    return 1;
+  }
 }
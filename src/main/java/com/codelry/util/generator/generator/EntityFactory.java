@@ -1,7 +1,7 @@
 package com.codelry.util.generator.generator;
 
 import com.codelry.util.generator.dto.Entity;
-import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.randomizer.RandomStreams;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import org.apache.logging.log4j.LogManager;
@@ -10,105 +10,149 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class EntityFactory {
   private static final Logger LOGGER = LogManager.getLogger(EntityFactory.class);
-  public BlockingQueue<Entity> recordQueue;
-  public BlockingQueue<Throwable> errorQueue = new LinkedBlockingQueue<>();
-  private final List<Future<Entity>> loadTasks = new ArrayList<>();
-  private ExecutorService loadExecutor;
-  private static final AtomicLong counter = new AtomicLong(0);
-  private final EntityDefinition definition;
-  private final KeyGenerator keyGenerator;
-  private int batchSize = 32;
-  private final long count;
-  private Thread runThread;
+  private static final int MIN_CHUNK_SIZE = 32;
+  private static final int MAX_CHUNK_SIZE = 5000;
+  private final RecordSource source;
   private final MeterRegistry registry;
+  private final long end;
+  private final AtomicLong cursor;
+  private final AtomicInteger activeWorkers = new AtomicInteger();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private BlockingQueue<List<Entity>> batchQueue;
+  private ExecutorService workers;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int batchSize = MAX_CHUNK_SIZE;
+  private int queueDepth = 0;
+  private volatile boolean stopped = false;
 
-  public EntityFactory(EntityDefinition definition, long start, long count, MeterRegistry registry) {
-    this.loadExecutor = Executors.newFixedThreadPool(64);
-    this.recordQueue = new LinkedBlockingQueue<>(32);
-    this.definition = definition;
-    this.keyGenerator = new KeyGenerator(definition, registry);
-    counter.set(start);
-    this.count = count;
-    this.batchSize = (this.batchSize > count) ? (int) count : this.batchSize;
+  public EntityFactory(EntityPlan plan, long start, long count, MeterRegistry registry) {
+    this(plan, RandomStreams.random(), start, count, registry);
+  }
+
+  public EntityFactory(EntityPlan plan, RandomStreams streams, long start, long count, MeterRegistry registry) {
+    this(planSource(plan, streams, registry), start, count, registry);
+  }
+
+  public EntityFactory(RecordSource source, long start, long count, MeterRegistry registry) {
+    this.source = source;
+    this.cursor = new AtomicLong(start);
+    this.end = start + count;
     this.registry = registry;
   }
 
+  private static RecordSource planSource(EntityPlan plan, RandomStreams streams, MeterRegistry registry) {
+    EntityGenerator generator = new EntityGenerator(plan, streams, registry);
+    KeyGenerator keyGenerator = new KeyGenerator(plan, registry);
+    keyGenerator.setRandomStreams(streams);
+    return index -> {
+      Entity entity = generator.generate(index);
+      if (plan.isNosql()) {
+        entity.setId(keyGenerator.generate(entity));
+      }
+      return entity;
+    };
+  }
+
   public void setThreads(int threads) {
-    loadExecutor = Executors.newFixedThreadPool(threads);
+    this.threads = Math.max(1, threads);
   }
 
-  public void setThreshold(int threshold) {
-    recordQueue = new LinkedBlockingQueue<>(threshold);
-    batchSize = threshold;
+  public void setBatchSize(int batchSize) {
+    this.batchSize = Math.max(1, batchSize);
   }
 
-  public void setIndex(long index) {
-    counter.set(index);
+  public void setQueueDepth(int queueDepth) {
+    this.queueDepth = queueDepth;
   }
 
-  public void loadTaskAdd(Callable<Entity> task) {
-    loadTasks.add(loadExecutor.submit(task));
+  public int chunkSize() {
+    long remaining = Math.max(0, end - cursor.get());
+    long perWorker = remaining / ((long) threads * 4);
+    long size = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, perWorker));
+    return (int) Math.min(size, batchSize);
   }
 
-  public void loadTaskGet() {
-    for (Future<Entity> future : loadTasks) {
-      try {
-        Entity entity = future.get();
-        if (definition.isNosql()) {
-          String key = keyGenerator.generate(entity);
-          entity.setId(key);
-        }
-        LOGGER.debug("Record added to queue {}", entity.getId());
-        recordQueue.put(entity);
-      } catch (ExecutionException e) {
-        errorQueue.add(e);
-      } catch (InterruptedException e) {
-        LOGGER.debug("Record queue wait interrupted");
-      }
+  public void start() {
+    int chunkSize = chunkSize();
+    batchQueue = new LinkedBlockingQueue<>(queueDepth > 0 ? queueDepth : threads * 2);
+    workers = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "entity-factory");
+      thread.setDaemon(true);
+      return thread;
+    });
+    activeWorkers.set(threads);
+    LOGGER.debug("Starting record factory with {} workers chunk size {}", threads, chunkSize);
+    for (int i = 0; i < threads; i++) {
+      workers.execute(() -> runWorker(chunkSize));
     }
-    loadTasks.clear();
   }
 
-  public void start() {
-    runThread = new Thread(() -> {
-      while (!Thread.currentThread().isInterrupted() && counter.get() < count) {
-        counter.getAndIncrement();
-        EntityGenerator generator = new EntityGenerator(definition, counter.get(), registry);
-        LOGGER.debug("Generating record {}", counter.get());
-        loadTaskAdd(generator::generate);
-        if (counter.get() % batchSize == 0 || counter.get() == count) {
-          LOGGER.debug("Load batch from queue");
-          loadTaskGet();
+  private void runWorker(int chunkSize) {
+    try {
+      while (!stopped && failure.get() == null) {
+        long from = cursor.getAndAdd(chunkSize);
+        if (from >= end) {
+          break;
         }
+        long to = Math.min(from + chunkSize, end);
+        batchQueue.put(generateRange(from, to));
       }
-    });
-    LOGGER.debug("Starting record factory");
-    runThread.start();
+    } catch (InterruptedException e) {
+      LOGGER.debug("Record factory worker interrupted");
+      Thread.currentThread().interrupt();
+    } catch (Throwable t) {
+      failure.compareAndSet(null, t);
+    } finally {
+      activeWorkers.decrementAndGet();
+    }
+  }
+
+  public List<Entity> generateRange(long from, long to) throws Exception {
+    List<Entity> batch = new ArrayList<>((int) (to - from));
+    for (long index = from; index < to; index++) {
+      batch.add(source.create(index));
+    }
+    LOGGER.debug("Generated range {} to {}", from, to - 1);
+    return batch;
   }
 
   public void stop() {
     LOGGER.debug("Stopping record factory");
-    runThread.interrupt();
+    stopped = true;
+    if (workers != null) {
+      workers.shutdownNow();
+    }
   }
 
-  public List<Entity> collect(int quantity) {
-    List<Entity> records = new ArrayList<>();
-    for (int i = 0; i < quantity; i++) {
-      try {
-        records.add(getNext());
-        registry.counter("entity.create.success", Tags.of("entity", "create")).increment();
-      } catch (InterruptedException e) {
-        LOGGER.error(e.getMessage(), e);
+  public List<Entity> nextBatch() throws InterruptedException {
+    while (true) {
+      checkFailure();
+      List<Entity> batch = batchQueue.poll(100, TimeUnit.MILLISECONDS);
+      if (batch != null) {
+        registry.counter("entity.create.success", Tags.of("entity", "create")).increment(batch.size());
+        return batch;
+      }
+      if (activeWorkers.get() == 0 && batchQueue.isEmpty()) {
+        checkFailure();
+        return null;
       }
     }
-    return records;
   }
 
-  public Entity getNext() throws InterruptedException {
-    return recordQueue.poll(5, TimeUnit.SECONDS);
+  private void checkFailure() {
+    Throwable t = failure.get();
+    if (t == null) {
+      return;
+    }
+    if (t instanceof RuntimeException e) {
+      throw e;
+    }
+    throw new RuntimeException(t.getMessage(), t);
   }
 }
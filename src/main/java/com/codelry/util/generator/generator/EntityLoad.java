@@ -1,19 +1,25 @@
 package com.codelry.util.generator.generator;
 
 import com.codelry.util.generator.dto.*;
+import com.codelry.util.generator.randomizer.RandomStreams;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
-public abstract class EntityLoad {
+public abstract class EntityLoad implements EntitySink {
   private static final Logger LOGGER = LogManager.getLogger(EntityLoad.class);
-  private static int batchSize = 5000;
+  private int batchSize = 5000;
+  private int maxInFlight = 4;
   private long recordCount = 1;
   private long recordStart = 1;
   private boolean dynamicCount = false;
+  private RandomStreams randomStreams;
+  private volatile DeadLetterStore deadLetters = new DeadLetterStore(10000);
   public EntityCollection schema;
   public MeterRegistry registry;
 
@@ -25,6 +31,11 @@ public abstract class EntityLoad {
     this.registry = new SimpleMeterRegistry();
   }
 
+  public void init(EntityCollection schema, long start, MeterRegistry registry) {
+    init(schema, start);
+    this.registry = registry;
+  }
+
   public void init(EntityCollection schema, long start, long count) {
     this.schema = schema;
     this.recordCount = count;
@@ -40,13 +51,74 @@ public abstract class EntityLoad {
   }
 
   public void setBatchSize(int batchSize) {
-    EntityLoad.batchSize = batchSize;
+    this.batchSize = batchSize;
+  }
+
+  public void setMaxInFlight(int maxInFlight) {
+    this.maxInFlight = Math.max(1, maxInFlight);
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public void setDeadLetterCapacity(int capacity) {
+    this.deadLetters = new DeadLetterStore(capacity);
+  }
+
+  public DeadLetterStore getDeadLetters() {
+    return deadLetters;
+  }
+
+  public boolean deadLetter(Entity record, Throwable error) {
+    LOGGER.debug("Dead-lettering record {}: {}", record.getId(), error.getMessage());
+    return deadLetters.add(record, error);
+  }
+
+  public CompletionStage<Void> redrive() {
+    DeadLetterStore pending = deadLetters;
+    List<Entity> records = pending.snapshot();
+    LOGGER.info("Re-driving {} dead-lettered records", records.size());
+    if (records.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    deadLetters = pending.forRedrive();
+    CompletionStage<Void> result;
+    try {
+      result = writeBatch(records);
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    return result.whenComplete((ignored, error) -> {
+      if (error != null) {
+        LOGGER.warn("Re-drive failed, keeping {} dead-lettered records: {}", records.size(), error.getMessage());
+        deadLetters = pending;
+      }
+    });
+  }
+
+  public RandomStreams getRandomStreams() {
+    return randomStreams;
   }
 
   public abstract void prepare();
 
   public abstract void insertBatch(List<Entity> batch);
 
+  public void startEntity(EntityDefinition definition) {}
+
+  public void finishEntity(EntityDefinition definition) {}
+
+  @Override
+  public CompletionStage<Void> writeBatch(List<Entity> batch) {
+    try {
+      insertBatch(batch);
+      return CompletableFuture.completedFuture(null);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   public void generate() {
     generate(null);
   }
@@ -54,28 +126,43 @@ public abstract class EntityLoad {
   public void generate(GenerationListener listener) {
     long totalRecords = computeTotalRecords();
     long completedRecords = 0;
+    randomStreams = new RandomStreams(
+        schema.getSeed() != null ? schema.getSeed() : RandomStreams.randomSeed(),
+        schema.getEpoch() != null ? schema.getEpoch() : System.currentTimeMillis());
+    LOGGER.info("Generation seed {} epoch {}", randomStreams.getSeed(), randomStreams.getEpoch());
     for (EntityDefinition definition : schema.getEntities()) {
       recordCount = dynamicCount ? definition.getCount() : recordCount;
       LOGGER.info("Generate start {} count {} for schema {}", recordStart, recordCount, schema.getName());
       definition.setNosql(schema.isNosql());
-      EntityFactory factory = new EntityFactory(definition, recordStart, recordCount, registry);
-      factory.setIndex(0);
-      factory.start();
-      for (int i = 0; i < recordCount; i += batchSize) {
-        if (listener != null && listener.isCancelled()) {
-          factory.stop();
-          throw new GenerationCancelledException();
-        }
-        long end = Math.min(i + batchSize, recordCount);
-        int chunk = (int) (end - i);
-        LOGGER.debug("Inserting batch {} of {} records", i + 1, chunk);
-        insertBatch(factory.collect(chunk));
-        completedRecords += chunk;
+      EntityPlan plan = EntityPlanCache.get(definition);
+      EntityFactory factory = new EntityFactory(plan, randomStreams, recordStart, recordCount, registry);
+      factory.setBatchSize(batchSize);
+      long completedBefore = completedRecords;
+      BatchWindow window = new BatchWindow(this, maxInFlight, completed -> {
         if (listener != null) {
-          listener.onProgress(completedRecords, totalRecords);
+          listener.onProgress(completedBefore + completed, totalRecords);
+        }
+      });
+      startEntity(definition);
+      factory.start();
+      try {
+        List<Entity> batch;
+        while ((batch = factory.nextBatch()) != null) {
+          if (listener != null && listener.isCancelled()) {
+            throw new GenerationCancelledException();
+          }
+          LOGGER.debug("Submitting batch of {} records", batch.size());
+          window.submit(batch);
         }
+        completedRecords += window.drain();
+        finishEntity(definition);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Generation interrupted", e);
+      } finally {
+        factory.stop();
+        window.awaitIdle();
       }
-      factory.stop();
     }
   }
 
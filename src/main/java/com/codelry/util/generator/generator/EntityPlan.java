@@ -0,0 +1,78 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.randomizer.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public final class EntityPlan {
+  private static final RandomStreams defaultStreams = RandomStreams.random();
+  private final String tableName;
+  private final String keyFormat;
+  private final boolean nosql;
+  private final List<CompiledColumn> columns;
+  private final Set<ReferenceData> references;
+
+  private EntityPlan(String tableName, String keyFormat, boolean nosql, List<CompiledColumn> columns) {
+    this.tableName = tableName;
+    this.keyFormat = keyFormat;
+    this.nosql = nosql;
+    this.columns = columns;
+    EnumSet<ReferenceData> used = EnumSet.noneOf(ReferenceData.class);
+    columns.forEach(column -> used.addAll(column.getReferences()));
+    this.references = Collections.unmodifiableSet(used);
+  }
+
+  public static EntityPlan compile(EntityDefinition definition) {
+    List<CompiledColumn> columns = new ArrayList<>();
+    if (definition.getFields() != null) {
+      for (FieldDefinition field : definition.getFields()) {
+        columns.add(CompiledColumn.compile(field));
+      }
+    }
+    String keyFormat = KeyTemplate.applyHashTag(definition.getKeyFormat(), definition.getHashTag());
+    return new EntityPlan(definition.getTableName(), keyFormat, definition.isNosql(), List.copyOf(columns));
+  }
+
+  public Entity generate(long index) {
+    return generate(defaultStreams, index);
+  }
+
+  public Entity generate(RandomStreams streams, long index) {
+    RecordContext record = new RecordContext(streams.forRecord(streams.entitySeed(tableName), index), index);
+    List<Field> fields = new ArrayList<>(columns.size());
+    for (CompiledColumn column : columns) {
+      fields.add(column.generate(record));
+    }
+    Entity entity = new Entity(null, fields);
+    entity.setIndex(index);
+    return entity;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public String getKeyFormat() {
+    return keyFormat;
+  }
+
+  public boolean isNosql() {
+    return nosql;
+  }
+
+  public List<CompiledColumn> getColumns() {
+    return columns;
+  }
+
+  public Set<ReferenceData> getReferences() {
+    return references;
+  }
+}
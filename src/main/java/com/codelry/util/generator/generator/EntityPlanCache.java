@@ -0,0 +1,39 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class EntityPlanCache {
+  private static final int MAX_ENTRIES = 64;
+  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final Map<String, EntityPlan> plans = Collections.synchronizedMap(
+      new LinkedHashMap<String, EntityPlan>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EntityPlan> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      });
+
+  private EntityPlanCache() {}
+
+  public static EntityPlan get(EntityDefinition definition) {
+    return plans.computeIfAbsent(signature(definition), key -> EntityPlan.compile(definition));
+  }
+
+  public static void clear() {
+    plans.clear();
+  }
+
+  private static String signature(EntityDefinition definition) {
+    try {
+      return mapper.writeValueAsString(definition);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Failed to compute plan signature for " + definition.getTableName(), e);
+    }
+  }
+}
@@ -2,22 +2,46 @@ package com.codelry.util.generator.generator;
 
 import com.codelry.util.generator.dto.Entity;
 import com.codelry.util.generator.dto.Field;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.List;
 
 public class EntitySerializer extends JsonSerializer<Entity> {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final DateTimeFormatter TIME_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneId.systemDefault());
+  private static final ThreadLocal<ByteArrayBuilder> BUFFER = ThreadLocal.withInitial(() -> new ByteArrayBuilder(1024));
 
   @Override
   public void serialize(Entity entity, JsonGenerator gen, SerializerProvider serializers) throws IOException {
     generateJson(entity, gen);
   }
 
+  public static String formatDate(Date date) {
+    return TIME_FORMAT.format(date.toInstant());
+  }
+
+  public static byte[] toBytes(Entity entity) {
+    ByteArrayBuilder buffer = BUFFER.get();
+    try (JsonGenerator gen = JSON_FACTORY.createGenerator(buffer)) {
+      generateJson(entity, gen);
+      gen.flush();
+      return buffer.toByteArray();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize entity " + entity.getId(), e);
+    } finally {
+      buffer.reset();
+    }
+  }
+
   public static void generateJson(Entity entity, JsonGenerator gen) throws IOException {
     gen.writeStartObject();
     for (Field field : entity.getFields()) {
@@ -43,8 +67,7 @@ public class EntitySerializer extends JsonSerializer<Entity> {
         }
         gen.writeEndArray();
       } else if (field.value instanceof Date) {
-        SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-        gen.writeString(timeFormat.format((Date) field.value));
+        gen.writeString(formatDate((Date) field.value));
       } else {
         gen.writeString((String) field.value);
       }
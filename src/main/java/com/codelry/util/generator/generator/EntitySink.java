@@ -0,0 +1,14 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+public interface EntitySink {
+  void prepare();
+
+  CompletionStage<Void> writeBatch(List<Entity> batch);
+
+  void cleanup();
+}
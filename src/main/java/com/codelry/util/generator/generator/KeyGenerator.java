@@ -3,6 +3,7 @@ package com.codelry.util.generator.generator;
 import com.codelry.util.generator.dto.Entity;
 import com.codelry.util.generator.dto.EntityDefinition;
 import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.randomizer.RandomStreams;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.interpret.Context;
@@ -24,15 +25,34 @@ public class KeyGenerator {
   private final JinjavaConfig config = JinjavaConfig.newBuilder().build();
   private final Jinjava jinjava = new Jinjava(config);
   private final Timer keyTimer;
+  private final KeyTemplate template;
+  private RandomStreams streams;
 
   public KeyGenerator(EntityDefinition definition, MeterRegistry registry) {
-    this.keyFormat = definition.getKeyFormat();
-    this.tableName = definition.getTableName();
+    this(definition.getTableName(), definition.getKeyFormat(), registry);
+  }
+
+  public KeyGenerator(EntityPlan plan, MeterRegistry registry) {
+    this(plan.getTableName(), plan.getKeyFormat(), registry);
+  }
+
+  public KeyGenerator(String tableName, String keyFormat, MeterRegistry registry) {
+    this.keyFormat = keyFormat;
+    this.tableName = tableName;
     this.keyTimer = Timer.builder("entity.generator.key.duration")
         .description("Time taken to generate a key")
         .tag("entity", "generator")
         .register(registry);
     this.jinjava.getGlobalContext().registerFilter(new KeyGenerator.ZeroPadFilter());
+    this.jinjava.getGlobalContext().registerFilter(new KeyGenerator.HashTagFilter());
+    this.template = KeyTemplate.compile(keyFormat);
+    if (template == null) {
+      logger.debug("Key format {} is rendered with Jinjava", keyFormat);
+    }
+  }
+
+  public void setRandomStreams(RandomStreams streams) {
+    this.streams = streams;
   }
 
   public String generate(Entity entity) {
@@ -44,9 +64,22 @@ public class KeyGenerator {
   }
 
   public String render(Entity entity) {
+    if (template != null) {
+      return template.render(entity, tableName, () -> uuid(entity));
+    }
+    return renderTemplate(entity);
+  }
+
+  private String uuid(Entity entity) {
+    return streams != null
+        ? streams.keyUuid(tableName, entity.getIndex()).toString()
+        : UUID.randomUUID().toString();
+  }
+
+  public String renderTemplate(Entity entity) {
     Context context = new Context();
     try {
-      context.put("__uuid__", UUID.randomUUID().toString());
+      context.put("__uuid__", uuid(entity));
       context.put("__table__", tableName);
       context.put("__index__", entity.getIndex());
 
@@ -95,4 +128,20 @@ public class KeyGenerator {
       return String.format("%0" + targetLength + "d", Integer.parseInt(value));
     }
   }
+
+  public static class HashTagFilter implements Filter {
+
+    @Override
+    public String getName() {
+      return "hash_tag";
+    }
+
+    @Override
+    public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
+      if (var == null) {
+        return "";
+      }
+      return "{" + var + "}";
+    }
+  }
 }
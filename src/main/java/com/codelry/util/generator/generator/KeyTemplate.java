@@ -0,0 +1,187 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class KeyTemplate {
+  private static final Pattern EXPRESSION =
+      Pattern.compile("^\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*(\\|\\s*zero_pad\\s*(?:\\(\\s*(\\d+)\\s*\\))?\\s*)?(\\|\\s*hash_tag\\s*)?$");
+  private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*([A-Za-z_][A-Za-z0-9_]*)([^}]*)}}");
+  private static final Set<String> LITERALS = Set.of("true", "false", "none", "null", "True", "False", "None");
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+  private final List<Segment> segments;
+  private final boolean usesUuid;
+
+  private KeyTemplate(List<Segment> segments) {
+    this.segments = List.copyOf(segments);
+    this.usesUuid = segments.stream().anyMatch(segment -> "__uuid__".equals(segment.name));
+  }
+
+  public static KeyTemplate compile(String keyFormat) {
+    if (keyFormat == null || keyFormat.contains("{%") || keyFormat.contains("{#")) {
+      return null;
+    }
+    List<Segment> segments = new ArrayList<>();
+    int position = 0;
+    while (position < keyFormat.length()) {
+      int open = keyFormat.indexOf("{{", position);
+      if (open < 0) {
+        segments.add(Segment.literal(keyFormat.substring(position)));
+        break;
+      }
+      int close = keyFormat.indexOf("}}", open + 2);
+      if (close < 0) {
+        return null;
+      }
+      if (open > position) {
+        segments.add(Segment.literal(keyFormat.substring(position, open)));
+      }
+      Segment variable = parseExpression(keyFormat.substring(open + 2, close));
+      if (variable == null) {
+        return null;
+      }
+      segments.add(variable);
+      position = close + 2;
+    }
+    if (segments.stream().anyMatch(segment -> segment.literal != null && segment.literal.contains("}}"))) {
+      return null;
+    }
+    return new KeyTemplate(segments);
+  }
+
+  private static Segment parseExpression(String expression) {
+    Matcher matcher = EXPRESSION.matcher(expression);
+    if (!matcher.matches()) {
+      return null;
+    }
+    String name = matcher.group(1);
+    if (LITERALS.contains(name)) {
+      return null;
+    }
+    boolean hashTag = matcher.group(4) != null;
+    if (matcher.group(2) == null) {
+      return Segment.variable(name, 0, hashTag);
+    }
+    String width = matcher.group(3);
+    if (width == null || width.isEmpty()) {
+      return Segment.variable(name, 10, hashTag);
+    }
+    try {
+      return Segment.variable(name, Integer.parseInt(width), hashTag);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  public static String applyHashTag(String keyFormat, String hashTag) {
+    if (keyFormat == null || hashTag == null || hashTag.isEmpty()) {
+      return keyFormat;
+    }
+    Matcher matcher = VARIABLE.matcher(keyFormat);
+    StringBuilder builder = new StringBuilder();
+    boolean found = false;
+    while (matcher.find()) {
+      if (!found && hashTag.equals(matcher.group(1))) {
+        found = true;
+        String filters = matcher.group(2).stripTrailing();
+        String replacement = filters.contains("hash_tag")
+            ? matcher.group()
+            : "{{ " + hashTag + filters + " | hash_tag }}";
+        matcher.appendReplacement(builder, Matcher.quoteReplacement(replacement));
+      }
+    }
+    matcher.appendTail(builder);
+    if (!found) {
+      return "{{ " + hashTag + " | hash_tag }}:" + keyFormat;
+    }
+    return builder.toString();
+  }
+
+  public boolean usesUuid() {
+    return usesUuid;
+  }
+
+  public String render(Entity entity, String tableName, Supplier<String> uuid) {
+    StringBuilder builder = BUFFER.get();
+    builder.setLength(0);
+    String uuidValue = usesUuid ? uuid.get() : null;
+    for (Segment segment : segments) {
+      if (segment.literal != null) {
+        builder.append(segment.literal);
+        continue;
+      }
+      String value = switch (segment.name) {
+        case "__uuid__" -> uuidValue;
+        case "__table__" -> tableName;
+        case "__index__" -> String.valueOf(entity.getIndex());
+        default -> fieldValue(entity, segment.name);
+      };
+      if (value == null) {
+        continue;
+      }
+      if (segment.hashTag) {
+        builder.append('{');
+      }
+      if (segment.padWidth != 0) {
+        builder.append(zeroPad(value, segment.padWidth));
+      } else {
+        builder.append(value);
+      }
+      if (segment.hashTag) {
+        builder.append('}');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static String fieldValue(Entity entity, String name) {
+    List<Field> fields = entity.getFields();
+    for (int i = fields.size() - 1; i >= 0; i--) {
+      Field field = fields.get(i);
+      if (name.equals(field.getName())) {
+        return field.getValue() == null ? null : field.getValue().toString();
+      }
+    }
+    return null;
+  }
+
+  private static String zeroPad(String value, int width) {
+    if (value.length() >= width) {
+      return value;
+    }
+    try {
+      return String.format("%0" + width + "d", Integer.parseInt(value));
+    } catch (NumberFormatException e) {
+      return value;
+    }
+  }
+
+  private static class Segment {
+    private final String literal;
+    private final String name;
+    private final int padWidth;
+    private final boolean hashTag;
+
+    private Segment(String literal, String name, int padWidth, boolean hashTag) {
+      this.literal = literal;
+      this.name = name;
+      this.padWidth = padWidth;
+      this.hashTag = hashTag;
+    }
+
+    static Segment literal(String text) {
+      return new Segment(text, null, 0, false);
+    }
+
+    static Segment variable(String name, int padWidth, boolean hashTag) {
+      return new Segment(null, name, padWidth, hashTag);
+    }
+  }
+}
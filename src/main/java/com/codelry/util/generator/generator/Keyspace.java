@@ -48,4 +48,8 @@ public class Keyspace {
   public JsonNode getTemplate() {
     return template;
   }
+
+  public String getIdTemplate() {
+    return idTemplate;
+  }
 }
@@ -0,0 +1,60 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class KeyspaceGenerator implements RecordSource {
+  private static final Logger logger = LoggerFactory.getLogger(KeyspaceGenerator.class);
+  private final Keyspace keyspace;
+  private final String template;
+  private final DocumentIdType idType;
+  private final String indexFormat;
+  private final RandomStreams streams;
+  private final long entitySeed;
+  private final Timer recordTimer;
+  private String keyPrefix = "";
+
+  public KeyspaceGenerator(Keyspace keyspace, RandomStreams streams, MeterRegistry registry) {
+    this.keyspace = keyspace;
+    this.template = DocIdGenerator.extractDocTemplate(keyspace.getTemplate());
+    this.idType = DocumentIdType.resolve(keyspace.getIdTemplate());
+    this.indexFormat = "%0" + DocumentIdType.indexPadding(keyspace.getIdTemplate()) + "d";
+    this.streams = streams;
+    this.entitySeed = streams.entitySeed(keyspace.toString());
+    this.recordTimer = Timer.builder("keyspace.generator.record.duration")
+        .description("Time taken to render a keyspace document")
+        .tag("keyspace", keyspace.toString())
+        .register(registry);
+    logger.debug("Keyspace {} document ID strategy {}", keyspace, idType);
+  }
+
+  public DocumentIdType getIdType() {
+    return idType;
+  }
+
+  public void setKeyPrefix(String keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  @Override
+  public Entity create(long index) throws Exception {
+    return recordTimer.recordCallable(() -> render(index));
+  }
+
+  public Entity render(long index) {
+    DocIdGenerator generator = new DocIdGenerator(index, idType == DocumentIdType.PATTERN ? keyspace.getIdTemplate() : null,
+        template, streams.forRecord(entitySeed, index));
+    String id = switch (idType) {
+      case RANDOM_UUID -> streams.keyUuid(keyspace.toString(), index).toString();
+      case MD5_HASH -> DocIdGenerator.md5Hex(generator.getDocument().toString());
+      case COLLECTION_NAME -> keyspace.getCollection() + "::" + index;
+      case INDEX -> String.format(indexFormat, index);
+      case PATTERN -> generator.getId();
+    };
+    return new Entity(keyPrefix + id, index, generator.getDocument());
+  }
+}
@@ -0,0 +1,100 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class KeyspaceLoad {
+  private static final Logger LOGGER = LogManager.getLogger(KeyspaceLoad.class);
+  private final Function<Keyspace, EntitySink> sinks;
+  private final MeterRegistry registry;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int batchSize = 5000;
+  private int maxInFlight = 4;
+  private RandomStreams randomStreams = RandomStreams.random();
+  private Function<Keyspace, String> keyPrefix = keyspace -> "";
+
+  public KeyspaceLoad(Function<Keyspace, EntitySink> sinks, MeterRegistry registry) {
+    this.sinks = sinks;
+    this.registry = registry;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public void setMaxInFlight(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+  }
+
+  public void setRandomStreams(RandomStreams randomStreams) {
+    this.randomStreams = randomStreams;
+  }
+
+  public void setKeyPrefix(Function<Keyspace, String> keyPrefix) {
+    this.keyPrefix = keyPrefix;
+  }
+
+  public long load(Schema schema, GenerationListener listener) {
+    long start = schema.getIndexStart();
+    long count = schema.getIndexEnd() - schema.getIndexStart() + 1;
+    List<Keyspace> keyspaces = schema.getSchemaList();
+    long totalRecords = count * keyspaces.size();
+    long completedRecords = 0;
+    for (Keyspace keyspace : keyspaces) {
+      completedRecords += load(keyspace, start, count, completedRecords, totalRecords, listener);
+    }
+    return completedRecords;
+  }
+
+  public long load(Keyspace keyspace, long start, long count, GenerationListener listener) {
+    return load(keyspace, start, count, 0, count, listener);
+  }
+
+  private long load(Keyspace keyspace, long start, long count, long completedBefore, long totalRecords,
+                    GenerationListener listener) {
+    LOGGER.info("Loading keyspace {} start {} count {}", keyspace, start, count);
+    EntitySink sink = sinks.apply(keyspace);
+    KeyspaceGenerator generator = new KeyspaceGenerator(keyspace, randomStreams, registry);
+    generator.setKeyPrefix(keyPrefix.apply(keyspace));
+    EntityFactory factory = new EntityFactory(generator, start, count, registry);
+    factory.setThreads(threads);
+    factory.setBatchSize(batchSize);
+    BatchWindow window = new BatchWindow(sink, maxInFlight, completed -> {
+      if (listener != null) {
+        listener.onProgress(completedBefore + completed, totalRecords);
+      }
+    });
+    long completedRecords;
+    sink.prepare();
+    factory.start();
+    try {
+      List<Entity> batch;
+      while ((batch = factory.nextBatch()) != null) {
+        if (listener != null && listener.isCancelled()) {
+          throw new GenerationCancelledException();
+        }
+        window.submit(batch);
+      }
+      completedRecords = window.drain();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Keyspace load interrupted", e);
+    } finally {
+      factory.stop();
+      window.awaitIdle();
+      sink.cleanup();
+    }
+    LOGGER.info("Loaded {} documents into keyspace {}", completedRecords, keyspace);
+    return completedRecords;
+  }
+}
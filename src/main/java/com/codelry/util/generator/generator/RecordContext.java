@@ -0,0 +1,62 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.db.*;
+import com.codelry.util.generator.randomizer.Randomizer;
+
+public class RecordContext {
+  private final Randomizer randomizer;
+  private long index;
+  private NameRecord name;
+  private AddressRecord address;
+  private ProductRecord product;
+  private AirportRecord airportOrig;
+  private AirportRecord airportDest;
+  private AirlineRecord airline;
+
+  public RecordContext(Randomizer randomizer, long index) {
+    this.randomizer = randomizer;
+    this.index = index;
+  }
+
+  public Randomizer getRandomizer() {
+    return randomizer;
+  }
+
+  public long getIndex() {
+    return index;
+  }
+
+  void setIndex(long index) {
+    this.index = index;
+  }
+
+  public NameRecord getName() {
+    name = (name == null) ? randomizer.randomNameRecord() : name;
+    return name;
+  }
+
+  public AddressRecord getAddress() {
+    address = (address == null) ? randomizer.randomAddressRecord() : address;
+    return address;
+  }
+
+  public ProductRecord getProduct() {
+    product = (product == null) ? randomizer.randomProductRecord() : product;
+    return product;
+  }
+
+  public AirportRecord getAirportOrig() {
+    airportOrig = (airportOrig == null) ? randomizer.randomAirportRecord() : airportOrig;
+    return airportOrig;
+  }
+
+  public AirportRecord getAirportDest() {
+    airportDest = (airportDest == null) ? randomizer.randomAirportRecord() : airportDest;
+    return airportDest;
+  }
+
+  public AirlineRecord getAirline() {
+    airline = (airline == null) ? randomizer.randomAirlineRecord() : airline;
+    return airline;
+  }
+}
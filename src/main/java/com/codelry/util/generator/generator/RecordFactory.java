@@ -15,7 +15,7 @@ public class RecordFactory {
   public BlockingQueue<Throwable> errorQueue = new LinkedBlockingQueue<>();
   private final List<Future<Record>> loadTasks = new ArrayList<>();
   private ExecutorService loadExecutor;
-  private static final AtomicLong counter = new AtomicLong(0);
+  private final AtomicLong counter = new AtomicLong(0);
   private final Table table;
   private int batchSize = 32;
   private final long count;
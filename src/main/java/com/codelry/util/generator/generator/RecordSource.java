@@ -0,0 +1,8 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.Entity;
+
+@FunctionalInterface
+public interface RecordSource {
+  Entity create(long index) throws Exception;
+}
@@ -0,0 +1,48 @@
+package com.codelry.util.generator.generator;
+
+import com.codelry.util.generator.dto.ColumnType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum ReferenceData {
+  NAME,
+  ADDRESS,
+  PRODUCT,
+  AIRPORT_ORIG,
+  AIRPORT_DEST,
+  AIRLINE;
+
+  public static Set<ReferenceData> usedBy(ColumnType type) {
+    switch (type) {
+      case FIRST_NAME:
+      case LAST_NAME:
+      case FULL_NAME:
+      case EMAIL:
+        return EnumSet.of(NAME);
+      case STREET_ADDRESS:
+      case CITY:
+      case STATE:
+      case ZIPCODE:
+      case PHONE_NUMBER:
+        return EnumSet.of(ADDRESS);
+      case PRODUCT_NAME:
+      case MANUFACTURER:
+      case PRODUCT_TYPE:
+        return EnumSet.of(PRODUCT);
+      case AIRPORT_ORIG_CODE:
+      case AIRPORT_ORIG_NAME:
+      case AIRPORT_ORIG_CITY:
+        return EnumSet.of(AIRPORT_ORIG);
+      case AIRPORT_DEST_CODE:
+      case AIRPORT_DEST_NAME:
+      case AIRPORT_DEST_CITY:
+        return EnumSet.of(AIRPORT_DEST);
+      case AIRLINE_CODE:
+      case AIRLINE_NAME:
+        return EnumSet.of(AIRLINE);
+      default:
+        return EnumSet.noneOf(ReferenceData.class);
+    }
+  }
+}
@@ -3,108 +3,45 @@ package com.codelry.util.generator.generator;
 import com.codelry.util.generator.db.AddressRecord;
 import com.codelry.util.generator.db.NameRecord;
 import com.codelry.util.generator.randomizer.Randomizer;
-import com.hubspot.jinjava.Jinjava;
-import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
-import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
 import com.hubspot.jinjava.objects.collections.PyList;
-import com.hubspot.jinjava.tree.ExpressionNode;
-import com.hubspot.jinjava.tree.Node;
-import com.hubspot.jinjava.tree.parse.ExpressionToken;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class Render {
-  private static Render instance;
-  private final Randomizer randomizer = new Randomizer();
-  private static final AtomicInteger index = new AtomicInteger(1);
+  private static final String RENDER_KEY = "__render__";
   private static final Date date = new Date();
+  private static final TemplateCache TEMPLATES = new TemplateCache()
+      .register("random_uuid", Render.class, "randomUuid")
+      .register("index", Render.class, "indexNum", int.class)
+      .register("number", Render.class, "randomNumber", int.class, int.class)
+      .register("decimal", Render.class, "randomDecimal", int.class, int.class, int.class)
+      .register("random", Render.class, "randomSelection", Object.class)
+      .register("repeat", Render.class, "repeat", int.class)
+      .register("image_path", Render.class, "randomImagePath", int.class)
+      .register("date_string", Render.class, "randomDateString", String.class, int.class)
+      .register("timestamp", Render.class, "timestamp", int.class);
+  private final Randomizer randomizer = new Randomizer();
+  private final AtomicInteger index = new AtomicInteger(1);
 
-  private Render() {}
+  public Render() {}
 
-  public static Render getInstance() {
-    if (instance == null) {
-      instance = new Render();
-    }
-    return instance;
+  private static Render current() {
+    return (Render) JinjavaInterpreter.getCurrent().getContext().get(RENDER_KEY);
   }
 
   public String processTemplate(String template, int subIndex) {
-    Context context = new Context();
-    JinjavaConfig config = JinjavaConfig.newBuilder().build();
-    Jinjava jinjava = new Jinjava(config);
+    TemplateCache.CompiledTemplate compiled = TEMPLATES.get(template);
+    Context context = TEMPLATES.newContext();
     try {
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "random_uuid",
-              this.getClass().getDeclaredMethod("randomUuid")
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "index",
-              this.getClass().getDeclaredMethod("indexNum", int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "number",
-              this.getClass().getDeclaredMethod("randomNumber", int.class, int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "decimal",
-              this.getClass().getDeclaredMethod("randomDecimal", int.class, int.class, int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "random",
-              this.getClass().getDeclaredMethod("randomSelection", Object.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "repeat",
-              this.getClass().getDeclaredMethod("repeat", int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "image_path",
-              this.getClass().getDeclaredMethod("randomImagePath", int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "date_string",
-              this.getClass().getDeclaredMethod("randomDateString", String.class, int.class)
-          )
-      );
-      jinjava.getGlobalContext().registerFunction(
-          new ELFunctionDefinition(
-              "",
-              "timestamp",
-              this.getClass().getDeclaredMethod("timestamp", int.class)
-          )
-      );
-      Set<String> bindings = extractBindings(template);
-
-      for (String binding : bindings) {
+      context.put(RENDER_KEY, this);
+      for (String binding : compiled.getBindings()) {
         switch (binding) {
           case "RANDOM_UUID":
             context.put("RANDOM_UUID", randomUuid());
@@ -153,34 +90,14 @@ public class Render {
             break;
         }
       }
-      JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, config);
-      return interpreter.render(template);
+      return TEMPLATES.render(compiled, context);
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
 
-  private void traverseNodes(Node node, Set<String> bindings) {
-    if (node instanceof ExpressionNode) {
-      ExpressionToken token = (ExpressionToken) node.getMaster();
-      bindings.add(token.getExpr());
-    }
-    for (Node child : node.getChildren()) {
-      traverseNodes(child, bindings);
-    }
-  }
-
   public Set<String> extractBindings(String template) {
-    Set<String> bindings = new HashSet<>();
-    try {
-      Jinjava jinjava = new Jinjava();
-      JinjavaInterpreter interpreter = jinjava.newInterpreter();
-      Node rootNode = interpreter.parse(template);
-      traverseNodes(rootNode, bindings);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-    return bindings;
+    return TEMPLATES.get(template).getBindings();
   }
 
   public static String randomUuid() {
@@ -189,23 +106,23 @@ public class Render {
 
   public static String indexNum(int pad) {
     pad = pad <= 0 ? 1 : pad;
-    return String.format("%0" + pad + "d", index.getAndIncrement());
+    return String.format("%0" + pad + "d", current().index.getAndIncrement());
   }
 
   public static String randomSelection(Object list) {
     PyList elements = (PyList) list;
-    Random rand = new Random();
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
     int index = rand.nextInt(elements.size());
     return elements.get(index).toString();
   }
 
   public static Integer randomNumber(int start, int end) {
-    Random rand = new Random();
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
     return rand.nextInt((end - start) + 1) + start;
   }
 
   public static double randomDecimal(int start, int end, int precision) {
-    Random rand = new Random();
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
     BigDecimal bd;
     double value = start + (end - start) * rand.nextDouble();
     bd = BigDecimal.valueOf(value);
@@ -218,7 +135,7 @@ public class Render {
   }
 
   public static String randomImagePath(int nullable) {
-    Random rand = new Random();
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
     boolean isNull = (nullable > 0) && rand.nextBoolean();
     return isNull ? "/v1/"
         + (rand.nextInt((1000000 - 1) + 1) + 1)
@@ -226,7 +143,7 @@ public class Render {
   }
 
   public static Date randomDate(int offset) {
-    Random rand = new Random();
+    ThreadLocalRandom rand = ThreadLocalRandom.current();
     int seconds = rand.nextInt((15552000 - 86400) + 1) + 86400;
     int absOffset = Math.abs(offset);
     int delta = rand.nextInt((absOffset - 1) + 1) + 1;
@@ -30,6 +30,12 @@ public class Schema {
     init(name);
   }
 
+  public Schema(List<JsonNode> schema, long start, long end) {
+    index_start = start;
+    index_end = end;
+    this.schema = schema;
+  }
+
   public void init(String name) {
     URL file = Schema.class.getClassLoader().getResource(String.format("schema/%s.json", name));
     try (InputStream in = Objects.requireNonNull(file).openStream()) {
@@ -43,6 +49,14 @@ public class Schema {
     }
   }
 
+  public long getIndexStart() {
+    return index_start;
+  }
+
+  public long getIndexEnd() {
+    return index_end;
+  }
+
   public List<String> getKeyspaceList() {
     List<String> keyspaceList = new ArrayList<>();
     for (JsonNode schemaNode : schema) {
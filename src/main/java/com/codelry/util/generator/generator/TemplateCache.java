@@ -0,0 +1,99 @@
+package com.codelry.util.generator.generator;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
+import com.hubspot.jinjava.tree.ExpressionNode;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.parse.ExpressionToken;
+
+import java.util.*;
+
+public class TemplateCache {
+  private static final int MAX_ENTRIES = 256;
+  private final JinjavaConfig config = JinjavaConfig.newBuilder().build();
+  private final Jinjava jinjava = new Jinjava(config);
+  private final Map<String, CompiledTemplate> templates = Collections.synchronizedMap(
+      new LinkedHashMap<String, CompiledTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      });
+
+  public TemplateCache register(String name, Class<?> owner, String method, Class<?>... parameterTypes) {
+    try {
+      jinjava.getGlobalContext().registerFunction(
+          new ELFunctionDefinition("", name, owner.getDeclaredMethod(method, parameterTypes)));
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+    return this;
+  }
+
+  public CompiledTemplate get(String template) {
+    return templates.computeIfAbsent(template, this::compile);
+  }
+
+  public Context newContext() {
+    return new Context(jinjava.getGlobalContext());
+  }
+
+  public String render(CompiledTemplate template, Context context) {
+    JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, config);
+    JinjavaInterpreter.pushCurrent(interpreter);
+    try {
+      return interpreter.render(template.getRoot());
+    } finally {
+      JinjavaInterpreter.popCurrent();
+    }
+  }
+
+  public int size() {
+    return templates.size();
+  }
+
+  private CompiledTemplate compile(String template) {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    Node root = interpreter.parse(template);
+    Set<String> bindings = new HashSet<>();
+    traverseNodes(root, bindings);
+    return new CompiledTemplate(template, root, bindings);
+  }
+
+  private static void traverseNodes(Node node, Set<String> bindings) {
+    if (node instanceof ExpressionNode) {
+      ExpressionToken token = (ExpressionToken) node.getMaster();
+      bindings.add(token.getExpr());
+    }
+    for (Node child : node.getChildren()) {
+      traverseNodes(child, bindings);
+    }
+  }
+
+  public static class CompiledTemplate {
+    private final String source;
+    private final Node root;
+    private final Set<String> bindings;
+
+    CompiledTemplate(String source, Node root, Set<String> bindings) {
+      this.source = source;
+      this.root = root;
+      this.bindings = Set.copyOf(bindings);
+    }
+
+    public String getSource() {
+      return source;
+    }
+
+    public Node getRoot() {
+      return root;
+    }
+
+    public Set<String> getBindings() {
+      return bindings;
+    }
+  }
+}
@@ -5,6 +5,8 @@ import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.classic.Level;
+import com.codelry.util.generator.db.DatabaseManager;
+import com.codelry.util.generator.db.ReferenceSnapshot;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.cli.*;
 import org.apache.commons.csv.CSVFormat;
@@ -19,6 +21,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.*;
 
@@ -26,6 +29,7 @@ public class CreateDatabase {
   private static final Logger LOGGER = LoggerFactory.getLogger(CreateDatabase.class);
   private static final Random rand = new Random();
   private static final String url = "jdbc:sqlite:src/main/resources/data/source.db";
+  private static final String snapshotPath = "build/generated/resources/reference/data/source.snapshot";
   private static final String NAMES_TABLE = "CREATE TABLE IF NOT EXISTS names " +
                                             "(id INTEGER PRIMARY KEY AUTOINCREMENT, " +
                                             "first TEXT, " +
@@ -88,6 +92,8 @@ public class CreateDatabase {
     Option productOpt = new Option("P", "products", false, "Products");
     Option airportOpt = new Option("A", "airports", false, "Airports");
     Option airlineOpt = new Option("L", "airlines", false, "Airlines");
+    Option snapshotOpt = new Option("S", "snapshot", false, "Reference Snapshot");
+    Option outputOpt = new Option("o", "output", true, "Snapshot Output Path");
 
     nameOpt.setRequired(false);
     addressOpt.setRequired(false);
@@ -97,6 +103,8 @@ public class CreateDatabase {
     productOpt.setRequired(false);
     airportOpt.setRequired(false);
     airlineOpt.setRequired(false);
+    snapshotOpt.setRequired(false);
+    outputOpt.setRequired(false);
 
     options.addOption(nameOpt);
     options.addOption(addressOpt);
@@ -106,6 +114,8 @@ public class CreateDatabase {
     options.addOption(productOpt);
     options.addOption(airportOpt);
     options.addOption(airlineOpt);
+    options.addOption(snapshotOpt);
+    options.addOption(outputOpt);
 
     CommandLineParser parser = new DefaultParser();
     HelpFormatter formatter = new HelpFormatter();
@@ -118,6 +128,11 @@ public class CreateDatabase {
       System.exit(1);
     }
 
+    if (cmd.hasOption("snapshot")) {
+      writeSnapshot(Path.of(cmd.getOptionValue("output", snapshotPath)));
+      return;
+    }
+
     LOGGER.info("Initializing database");
     try (Connection conn = DriverManager.getConnection(url)) {
       Statement stmt = conn.createStatement();
@@ -150,7 +165,15 @@ public class CreateDatabase {
     } else if (cmd.hasOption("airlines")) {
       populateAirlinesTable();
     }
+  }
 
+  public static void writeSnapshot(Path path) {
+    LOGGER.info("Writing reference data snapshot");
+    try {
+      ReferenceSnapshot.write(DatabaseManager.loadDatabase(url), path);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   private static void configureLogging() {
@@ -0,0 +1,63 @@
+package com.codelry.util.generator.randomizer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.random.RandomGenerator;
+
+public final class AliasSampler {
+  private final double[] probability;
+  private final int[] alias;
+
+  public AliasSampler(double[] weights) {
+    int size = weights.length;
+    if (size == 0) {
+      throw new IllegalArgumentException("Alias sampler requires at least one weight");
+    }
+    probability = new double[size];
+    alias = new int[size];
+    double total = 0.0;
+    for (double weight : weights) {
+      total += Math.max(0.0, weight);
+    }
+    double[] scaled = new double[size];
+    for (int i = 0; i < size; i++) {
+      scaled[i] = total > 0.0 ? Math.max(0.0, weights[i]) * size / total : 1.0;
+    }
+    Deque<Integer> small = new ArrayDeque<>();
+    Deque<Integer> large = new ArrayDeque<>();
+    for (int i = 0; i < size; i++) {
+      if (scaled[i] < 1.0) {
+        small.push(i);
+      } else {
+        large.push(i);
+      }
+    }
+    while (!small.isEmpty() && !large.isEmpty()) {
+      int less = small.pop();
+      int more = large.pop();
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1.0;
+      if (scaled[more] < 1.0) {
+        small.push(more);
+      } else {
+        large.push(more);
+      }
+    }
+    while (!large.isEmpty()) {
+      probability[large.pop()] = 1.0;
+    }
+    while (!small.isEmpty()) {
+      probability[small.pop()] = 1.0;
+    }
+  }
+
+  public int sample(RandomGenerator random) {
+    int column = random.nextInt(probability.length);
+    return random.nextDouble() < probability[column] ? column : alias[column];
+  }
+
+  public int size() {
+    return probability.length;
+  }
+}
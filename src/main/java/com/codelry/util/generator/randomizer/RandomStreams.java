@@ -0,0 +1,62 @@
+package com.codelry.util.generator.randomizer;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public final class RandomStreams {
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final String KEY_STREAM = "#key";
+  private final long seed;
+  private final long epoch;
+
+  public RandomStreams(long seed, long epoch) {
+    this.seed = seed;
+    this.epoch = epoch;
+  }
+
+  public static RandomStreams random() {
+    return new RandomStreams(randomSeed(), System.currentTimeMillis());
+  }
+
+  public static long randomSeed() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long entitySeed(String entity) {
+    return mix64(seed ^ mix64(entity == null ? 0 : entity.hashCode()));
+  }
+
+  public static long recordSeed(long entitySeed, long index) {
+    return mix64(entitySeed + GOLDEN_GAMMA * index);
+  }
+
+  public Randomizer forRecord(long entitySeed, long index) {
+    return new Randomizer(new SplittableRandom(recordSeed(entitySeed, index)), epoch);
+  }
+
+  public UUID keyUuid(String entity, long index) {
+    return uuid(new SplittableRandom(recordSeed(entitySeed(entity + KEY_STREAM), index)));
+  }
+
+  public static UUID uuid(RandomGenerator rand) {
+    long msb = (rand.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+    long lsb = (rand.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  public static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
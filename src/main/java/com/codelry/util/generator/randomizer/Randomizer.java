@@ -6,11 +6,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public class Randomizer {
-  private final Random rand = new Random();
-  private static DatabaseManager databaseManager;
+  private static final RandomGenerator threadLocalRandom = () -> ThreadLocalRandom.current().nextLong();
+  private final RandomGenerator rand;
+  private final long epoch;
+  private final ReferenceStore store;
   private static final String[] lorem = {
       "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
       "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore",
@@ -22,7 +26,13 @@ public class Randomizer {
   private static final String[] cabinCodes = {"F", "J", "W", "Y"};
 
   public Randomizer() {
-    databaseManager = DatabaseManager.getInstance();
+    this(threadLocalRandom, -1);
+  }
+
+  public Randomizer(RandomGenerator rand, long epoch) {
+    this.rand = rand;
+    this.epoch = epoch;
+    this.store = DatabaseManager.getInstance().getStore();
   }
 
   public void randomBytes(byte[] bytes) {
@@ -30,7 +40,7 @@ public class Randomizer {
   }
 
   public String randomUuid() {
-    return UUID.randomUUID().toString();
+    return RandomStreams.uuid(rand).toString();
   }
 
   public int randomNumber(int minValue, int maxValue) {
@@ -69,8 +79,7 @@ public class Randomizer {
   }
 
   public Date randomDate(int offset) {
-    Random rand = new Random();
-    Date date = new Date();
+    Date date = dateNow();
     int seconds = rand.nextInt((15552000 - 86400) + 1) + 86400;
     int absOffset = Math.abs(offset);
     int delta = rand.nextInt((absOffset - 1) + 1) + 1;
@@ -89,7 +98,7 @@ public class Randomizer {
   }
 
   public Date dateNow() {
-    return new Date();
+    return epoch >= 0 ? new Date(epoch) : new Date();
   }
 
   public String timestamp() {
@@ -103,81 +112,70 @@ public class Randomizer {
   }
 
   public String randomFirstName() {
-    int index = randomNumber(1, (int) DatabaseManager.nameCount);
-    NameRecord name = databaseManager.getNameById(index);
-    return name.first;
+    return store.getFirstName(randomArrayIndex(store.getNameCount()));
   }
 
   public String randomLastName() {
-    int index = randomNumber(1, (int) DatabaseManager.nameCount);
-    NameRecord name = databaseManager.getNameById(index);
-    return name.last;
+    return store.getLastName(randomArrayIndex(store.getNameCount()));
   }
 
   public String randomFullName() {
-    int index = randomNumber(1, (int) DatabaseManager.nameCount);
-    NameRecord name = databaseManager.getNameById(index);
-    return name.fullName();
+    int index = randomArrayIndex(store.getNameCount());
+    return store.getFirstName(index) + " " + store.getLastName(index);
   }
 
   public NameRecord randomNameRecord() {
-    int firstIndex = randomNumber(1, (int) DatabaseManager.nameCount);
-    int lastIndex = randomNumber(1, (int) DatabaseManager.nameCount);
-    NameRecord firstName = databaseManager.getNameById(firstIndex);
-    NameRecord lastName = databaseManager.getNameById(lastIndex);
-    return new NameRecord(
-        firstName.first,
-        lastName.last,
-        firstName.gender
-    );
+    int firstIndex = randomArrayIndex(store.getNameCount());
+    int lastIndex = randomArrayIndex(store.getNameCount());
+    return store.getNameRecord(firstIndex, lastIndex);
   }
 
   public String randomState() {
-    double weight = randomDouble(0, 1, 4);
-    return databaseManager.getState(weight);
+    return store.getStateName(store.sampleState(rand));
   }
 
   public StateRecord randomStateRecord() {
-    String state = randomState();
-    List<StateRecord> records = databaseManager.getStateRecordsByState(state);
-    int index = randomNumber(0, records.size() - 1);
-    return records.get(index);
+    int state = store.sampleState(rand);
+    return store.getStateRecord(state, randomArrayIndex(store.getStateRecordCount(state)));
   }
 
   public AddressRecord randomAddressRecord() {
-    int streetIndex = randomNumber(1, (int) DatabaseManager.addressCount);
-    StateRecord stateRecord = randomStateRecord();
-    String street = databaseManager.getStreetNameById(streetIndex);
+    int streetIndex = randomArrayIndex(store.getAddressCount());
+    int state = store.sampleState(rand);
+    int row = randomArrayIndex(store.getStateRecordCount(state));
     int number = randomNumber(100, 99999);
     return new AddressRecord(
         String.valueOf(number),
-        street,
-        stateRecord.city,
-        stateRecord.state,
-        stateRecord.zip
+        store.getStreet(streetIndex),
+        store.getStateCity(state, row),
+        store.getStateName(state),
+        store.getStateZip(state, row)
     );
   }
 
   public ProductRecord randomProductRecord() {
-    int productIndex = randomNumber(1, (int) DatabaseManager.productCount);
-    return databaseManager.getProductById(productIndex);
+    return store.getProduct(randomArrayIndex(store.getProductCount()));
   }
 
   public AirportRecord randomAirportRecord() {
-    int airportIndex = randomNumber(1, (int) DatabaseManager.airportCount);
-    return databaseManager.getAirportById(airportIndex);
+    return store.getAirport(randomArrayIndex(store.getAirportCount()));
   }
 
   public AirlineRecord randomAirlineRecord() {
-    int airlineIndex = randomNumber(1, (int) DatabaseManager.airlineCount);
-    return databaseManager.getAirlineById(airlineIndex);
+    return store.getAirline(randomArrayIndex(store.getAirlineCount()));
   }
 
   public String randomPhoneNumber(String state) {
-    List<String> areaCodes = databaseManager.getAreaCodesByState(state);
+    int stateIndex = store.getStateIndex(state);
     int number = randomNumber(1, 9999);
-    int codeIndex = randomNumber(1, areaCodes.size());
-    return areaCodes.get(codeIndex - 1) + "-555-" + String.format("%04d", number);
+    int codeIndex = randomArrayIndex(store.getAreaCodeCount(stateIndex));
+    String digits = Integer.toString(number);
+    return new StringBuilder(12)
+        .append(store.getAreaCode(stateIndex, codeIndex))
+        .append("-555-")
+        .append("0000", 0, 4 - digits.length())
+        .append(digits)
+        .toString();
   }
 
   public boolean randomBoolean() {
@@ -228,12 +226,12 @@ public class Randomizer {
 
   private String generateCardNumber() {
     String[] prefixes = {"4", "51", "52", "53", "54", "6011"};
-    String prefix = prefixes[new Random().nextInt(prefixes.length)];
+    String prefix = prefixes[rand.nextInt(prefixes.length)];
 
     StringBuilder cardNumber = new StringBuilder(prefix);
 
     while (cardNumber.length() < 15) {
-      int digit = new Random().nextInt(10);
+      int digit = rand.nextInt(10);
       cardNumber.append(digit);
     }
 
@@ -273,7 +271,7 @@ public class Randomizer {
   }
 
   public String randomIpAddress() {
-    Random random = new Random();
+    RandomGenerator random = rand;
     int range = random.nextInt(3);
 
     return switch (range) {
@@ -327,8 +325,10 @@ public class Randomizer {
   }
 
   public String loremSegment() {
-    List<String> list = Arrays.asList(lorem);
-    Collections.shuffle(list);
+    List<String> list = new ArrayList<>(Arrays.asList(lorem));
+    for (int i = list.size() - 1; i > 0; i--) {
+      Collections.swap(list, i, rand.nextInt(i + 1));
+    }
     int minValue = 4;
     int maxValue = list.size();
     int limit = randomNumber(minValue, maxValue);
@@ -87,6 +87,13 @@ public class CouchbaseConnectionManager {
     return collections.get(userId);
   }
 
+  public Collection getCollection(String userId, String bucket, String scope, String collection) {
+    if (isNotConnected(userId)) {
+      throw new IllegalStateException("Couchbase is not connected for userId=" + userId);
+    }
+    return clusters.get(userId).bucket(bucket).scope(scope).collection(collection);
+  }
+
   private String buildConnectionString(CouchbaseConnectionConfig config) {
     String scheme = config.isUseTls() ? "couchbases" : "couchbase";
     return scheme + "://" + config.getHost();
@@ -1,28 +1,47 @@
 package com.codelry.util.generator.service;
 
+import com.codelry.util.generator.driver.ColumnarExport;
 import com.codelry.util.generator.driver.Couchbase;
+import com.codelry.util.generator.driver.FileExport;
+import com.codelry.util.generator.driver.Jdbc;
 import com.codelry.util.generator.driver.Redis;
+import com.codelry.util.generator.driver.RedisClusterPipeline;
+import com.codelry.util.generator.driver.RedisPipeline;
 import com.codelry.util.generator.dto.EntityCollection;
 import com.codelry.util.generator.dto.GenerationJobStatus;
 import com.codelry.util.generator.dto.GenerationStatus;
+import com.codelry.util.generator.dto.JdbcGenerationRequest;
+import com.codelry.util.generator.dto.RedisConnectionConfig;
 import com.codelry.util.generator.dto.StartGenerationResponse;
 import com.codelry.util.generator.generator.EntityLoad;
 import com.codelry.util.generator.generator.GenerationCancelledException;
 import com.codelry.util.generator.generator.GenerationListener;
+import com.codelry.util.generator.generator.Keyspace;
+import com.codelry.util.generator.generator.KeyspaceLoad;
+import com.codelry.util.generator.generator.Schema;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Service
 public class GenerationJobService {
@@ -31,6 +50,8 @@ public class GenerationJobService {
 
   private final CouchbaseConnectionManager couchbaseConnectionManager;
   private final RedisConnectionManager redisConnectionManager;
+  private final MeterRegistry registry;
+  private final Path exportRoot;
   private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
     Thread thread = new Thread(r, "generation-job");
     thread.setDaemon(true);
@@ -40,35 +61,171 @@ public class GenerationJobService {
 
   public GenerationJobService(
       CouchbaseConnectionManager couchbaseConnectionManager,
-      RedisConnectionManager redisConnectionManager) {
+      RedisConnectionManager redisConnectionManager,
+      MeterRegistry registry,
+      @Value("${generator.export.directory:exports}") String exportDirectory) {
     this.couchbaseConnectionManager = couchbaseConnectionManager;
     this.redisConnectionManager = redisConnectionManager;
+    this.registry = registry;
+    this.exportRoot = Path.of(exportDirectory).toAbsolutePath().normalize();
   }
 
   public StartGenerationResponse startCouchbaseJob(String userId, EntityCollection schema) {
-    return startJob(userId, schema, () -> {
+    return startJob(userId, schema, jobId -> {
       Couchbase driver = new Couchbase();
-      driver.init(schema, 1);
+      driver.init(schema, 1, registry);
+      driver.getLimiter().setInstance(jobId);
       driver.connect(couchbaseConnectionManager.getCollection(userId));
       return driver;
     });
   }
 
   public StartGenerationResponse startRedisJob(String userId, EntityCollection schema) {
-    return startJob(userId, schema, () -> {
-      ReactiveRedisTemplate<String, String> reactiveTemplate = redisConnectionManager.reactiveRedisTemplate(userId);
-      ReactiveRedisJsonTemplate<String, String> reactiveJsonTemplate =
-          redisConnectionManager.reactiveRedisJsonTemplate(userId);
+    return startJob(userId, schema, jobId -> {
       Redis driver = new Redis();
-      driver.init(schema, 1);
-      driver.connect(reactiveTemplate, reactiveJsonTemplate);
-      if (redisConnectionManager.isUseJson(userId)) {
-        driver.setUseJson(true);
-      }
+      driver.init(schema, 1, registry);
+      driver.getLimiter().setInstance(jobId);
+      return connectRedis(userId, driver);
+    });
+  }
+
+  private Redis connectRedis(String userId, Redis driver) {
+    ReactiveRedisTemplate<String, String> reactiveTemplate = redisConnectionManager.reactiveRedisTemplate(userId);
+    ReactiveRedisJsonTemplate<String, String> reactiveJsonTemplate =
+        redisConnectionManager.reactiveRedisJsonTemplate(userId);
+    driver.connect(reactiveTemplate, reactiveJsonTemplate);
+    if (redisConnectionManager.isUseJson(userId)) {
+      driver.setUseJson(true);
+    } else {
+      driver.setBinaryCommands(redisConnectionManager.reactiveBinaryCommands(userId));
+    }
+    RedisConnectionConfig config = redisConnectionManager.getConfig(userId);
+    if (config.getJsonMSetSize() > 1) {
+      driver.setJsonMSetSize(config.getJsonMSetSize());
+    }
+    if (config.isUsePipeline() && config.isUseCluster()) {
+      driver.setPipeline(new RedisClusterPipeline(redisConnectionManager.getClusterClient(userId),
+          config.getPipelineConnections(), config.getPipelineBatchSize()));
+    } else if (config.isUsePipeline()) {
+      driver.setPipeline(new RedisPipeline(redisConnectionManager.getConnectionPool(userId),
+          config.getPipelineConnections(), config.getPipelineBatchSize()));
+    }
+    return driver;
+  }
+
+  public StartGenerationResponse startJdbcJob(String userId, JdbcGenerationRequest request) {
+    EntityCollection schema = request.getSchema();
+    if (schema == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A schema is required");
+    }
+    if (request.getUrl() == null || !request.getUrl().startsWith("jdbc:postgresql:")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only jdbc:postgresql: URLs are supported");
+    }
+    return startJob(userId, schema, jobId -> {
+      Jdbc driver = new Jdbc(request.getUrl(), request.getUsername(), request.getPassword());
+      driver.init(schema, 1, registry);
+      driver.setConnectionCount(request.getConnections());
+      driver.setTransactionSize(request.getTransactionSize());
+      driver.connect();
+      return driver;
+    });
+  }
+
+  public StartGenerationResponse startFileExportJob(
+      String userId,
+      EntityCollection schema,
+      String directory,
+      String format,
+      String compression) {
+    Path path = exportDirectory(directory);
+    FileExport.Format exportFormat;
+    FileExport.Compression exportCompression;
+    try {
+      exportFormat = FileExport.Format.from(format);
+      exportCompression = FileExport.Compression.from(compression);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid export format or compression", e);
+    }
+    return startJob(userId, schema, jobId -> {
+      FileExport driver = new FileExport(path, exportFormat, exportCompression);
+      driver.init(schema, 1, registry);
       return driver;
     });
   }
 
+  public StartGenerationResponse startColumnarExportJob(
+      String userId,
+      EntityCollection schema,
+      String directory,
+      List<String> formats) {
+    Path path = exportDirectory(directory);
+    ColumnarExport.Format[] exportFormats;
+    try {
+      exportFormats = formats.stream().map(ColumnarExport.Format::from).toArray(ColumnarExport.Format[]::new);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid columnar export format", e);
+    }
+    return startJob(userId, schema, jobId -> {
+      ColumnarExport driver = new ColumnarExport(path, exportFormats);
+      driver.init(schema, 1, registry);
+      return driver;
+    });
+  }
+
+  private Path exportDirectory(String directory) {
+    Path path = exportRoot.resolve(directory == null ? "" : directory).normalize();
+    if (!path.startsWith(exportRoot)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export directory must be inside " + exportRoot);
+    }
+    return path;
+  }
+
+  public StartGenerationResponse startCouchbaseKeyspaceJob(String userId, List<JsonNode> keyspaces, long count) {
+    return startKeyspaceJob(userId, keyspaces, count, keyspace -> "", (jobId, keyspace) -> {
+      Couchbase driver = new Couchbase();
+      driver.registry = registry;
+      driver.getLimiter().setInstance(jobId + ":" + keyspace);
+      driver.connect(couchbaseConnectionManager.getCollection(
+          userId, keyspace.getBucket(), keyspace.getScope(), keyspace.getCollection()));
+      return driver;
+    });
+  }
+
+  public StartGenerationResponse startRedisKeyspaceJob(String userId, List<JsonNode> keyspaces, long count) {
+    return startKeyspaceJob(userId, keyspaces, count, keyspace -> keyspace.getCollection() + ":", (jobId, keyspace) -> {
+      Redis driver = new Redis();
+      driver.registry = registry;
+      driver.getLimiter().setInstance(jobId + ":" + keyspace);
+      return connectRedis(userId, driver);
+    });
+  }
+
+  private StartGenerationResponse startKeyspaceJob(
+      String userId,
+      List<JsonNode> keyspaces,
+      long count,
+      Function<Keyspace, String> keyPrefix,
+      SinkFactory sinkFactory) {
+    purgeExpiredJobs();
+    if (count <= 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Document count must be greater than zero");
+    }
+    Schema schema = new Schema(keyspaces, 1, count);
+    List<Keyspace> keyspaceList;
+    try {
+      keyspaceList = schema.getSchemaList();
+    } catch (RuntimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid keyspace schema: " + e.getMessage(), e);
+    }
+    String jobId = UUID.randomUUID().toString();
+    long totalRecords = count * keyspaceList.size();
+    JobState job = new JobState(jobId, userId, totalRecords, RandomStreams.randomSeed(), System.currentTimeMillis());
+    jobs.put(jobId, job);
+
+    executor.submit(() -> runKeyspaceJob(job, schema, keyPrefix, sinkFactory));
+    return new StartGenerationResponse(jobId, GenerationStatus.RUNNING, totalRecords);
+  }
+
   private StartGenerationResponse startJob(
       String userId,
       EntityCollection schema,
@@ -76,7 +233,13 @@ public class GenerationJobService {
     purgeExpiredJobs();
     String jobId = UUID.randomUUID().toString();
     long totalRecords = computeTotalRecords(schema);
-    JobState job = new JobState(jobId, userId, totalRecords);
+    if (schema.getSeed() == null) {
+      schema.setSeed(RandomStreams.randomSeed());
+    }
+    if (schema.getEpoch() == null) {
+      schema.setEpoch(System.currentTimeMillis());
+    }
+    JobState job = new JobState(jobId, userId, totalRecords, schema.getSeed(), schema.getEpoch());
     jobs.put(jobId, job);
 
     executor.submit(() -> runJob(job, driverFactory));
@@ -88,6 +251,24 @@ public class GenerationJobService {
     return job.toStatus();
   }
 
+  public GenerationJobStatus redriveJob(String userId, String jobId) {
+    JobState job = requireJob(userId, jobId);
+    if (!job.beginRedrive()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Generation job is running or has nothing to re-drive");
+    }
+    executor.submit(() -> runRedrive(job));
+    return job.toStatus();
+  }
+
+  public GenerationJobStatus closeJob(String userId, String jobId) {
+    JobState job = requireJob(userId, jobId);
+    if (!job.close()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Generation job is not finished");
+    }
+    jobs.remove(jobId);
+    return job.toStatus();
+  }
+
   public GenerationJobStatus cancelJob(String userId, String jobId) {
     JobState job = requireJob(userId, jobId);
     if (job.status == GenerationStatus.RUNNING) {
@@ -99,10 +280,14 @@ public class GenerationJobService {
   private void runJob(JobState job, DriverFactory driverFactory) {
     EntityLoad driver = null;
     try {
-      driver = driverFactory.create();
+      driver = driverFactory.create(job.jobId);
+      job.driver = driver;
       driver.generate(job);
       if (job.cancelRequested.get()) {
         job.finish(GenerationStatus.CANCELLED, "Generation cancelled");
+      } else if (driver.getDeadLetters().size() > 0) {
+        job.finish(GenerationStatus.COMPLETED_WITH_ERRORS,
+            "Generation completed with " + driver.getDeadLetters().size() + " dead-lettered records");
       } else {
         job.finish(GenerationStatus.COMPLETED, "Generation completed successfully");
       }
@@ -112,13 +297,54 @@ public class GenerationJobService {
       logger.error("Generation job {} failed", job.jobId, e);
       job.finish(GenerationStatus.FAILED, e.getMessage() != null ? e.getMessage() : "Generation failed");
     } finally {
-      if (driver != null) {
-        try {
-          driver.cleanup();
-        } catch (Exception e) {
-          logger.warn("Failed to cleanup driver for job {}", job.jobId, e);
-        }
+      job.closeIfDrained();
+    }
+  }
+
+  private void runKeyspaceJob(JobState job, Schema schema, Function<Keyspace, String> keyPrefix, SinkFactory sinkFactory) {
+    Queue<EntityLoad> sinks = new ConcurrentLinkedQueue<>();
+    KeyspaceLoad load = new KeyspaceLoad(keyspace -> {
+      EntityLoad driver = sinkFactory.create(job.jobId, keyspace);
+      sinks.add(driver);
+      return driver;
+    }, registry);
+    load.setRandomStreams(new RandomStreams(job.seed, job.epoch));
+    load.setKeyPrefix(keyPrefix);
+    try {
+      load.load(schema, job);
+      int deadLetters = sinks.stream().mapToInt(sink -> sink.getDeadLetters().size()).sum();
+      if (job.cancelRequested.get()) {
+        job.finish(GenerationStatus.CANCELLED, "Generation cancelled");
+      } else if (deadLetters > 0) {
+        job.finish(GenerationStatus.COMPLETED_WITH_ERRORS,
+            "Generation completed with " + deadLetters + " records that could not be written");
+      } else {
+        job.finish(GenerationStatus.COMPLETED, "Generation completed successfully");
+      }
+    } catch (GenerationCancelledException e) {
+      job.finish(GenerationStatus.CANCELLED, "Generation cancelled");
+    } catch (Exception e) {
+      logger.error("Keyspace generation job {} failed", job.jobId, e);
+      job.finish(GenerationStatus.FAILED, e.getMessage() != null ? e.getMessage() : "Generation failed");
+    }
+  }
+
+  private void runRedrive(JobState job) {
+    EntityLoad driver = job.driver;
+    try {
+      driver.redrive().toCompletableFuture().join();
+      int remaining = driver.getDeadLetters().size();
+      if (remaining > 0) {
+        job.finish(GenerationStatus.COMPLETED_WITH_ERRORS,
+            "Re-drive finished with " + remaining + " records still dead-lettered");
+      } else {
+        job.finish(GenerationStatus.COMPLETED, "Re-drive completed successfully");
       }
+    } catch (Exception e) {
+      logger.error("Re-drive of job {} failed", job.jobId, e);
+      job.finish(GenerationStatus.FAILED, "Re-drive failed: " + e.getMessage());
+    } finally {
+      job.closeIfDrained();
     }
   }
 
@@ -146,7 +372,7 @@ public class GenerationJobService {
     Iterator<Map.Entry<String, JobState>> iterator = jobs.entrySet().iterator();
     while (iterator.hasNext()) {
       JobState job = iterator.next().getValue();
-      if (job.updatedAt < cutoff && job.status != GenerationStatus.RUNNING) {
+      if (job.updatedAt < cutoff && job.close()) {
         iterator.remove();
       }
     }
@@ -154,13 +380,20 @@ public class GenerationJobService {
 
   @FunctionalInterface
   private interface DriverFactory {
-    EntityLoad create() throws Exception;
+    EntityLoad create(String jobId) throws Exception;
+  }
+
+  @FunctionalInterface
+  private interface SinkFactory {
+    EntityLoad create(String jobId, Keyspace keyspace);
   }
 
   private static final class JobState implements GenerationListener {
     private final String jobId;
     private final String userId;
     private final long totalRecords;
+    private final long seed;
+    private final long epoch;
     private final long startedAt;
     private final AtomicBoolean cancelRequested = new AtomicBoolean(false);
 
@@ -168,11 +401,15 @@ public class GenerationJobService {
     private volatile long completedRecords;
     private volatile String message;
     private volatile long updatedAt;
+    private volatile EntityLoad driver;
+    private volatile boolean closed;
 
-    private JobState(String jobId, String userId, long totalRecords) {
+    private JobState(String jobId, String userId, long totalRecords, long seed, long epoch) {
       this.jobId = jobId;
       this.userId = userId;
       this.totalRecords = totalRecords;
+      this.seed = seed;
+      this.epoch = epoch;
       this.startedAt = System.currentTimeMillis();
       this.updatedAt = startedAt;
     }
@@ -197,6 +434,40 @@ public class GenerationJobService {
       this.updatedAt = System.currentTimeMillis();
     }
 
+    private synchronized boolean beginRedrive() {
+      if (status == GenerationStatus.RUNNING || closed || driver == null || driver.getDeadLetters().size() == 0) {
+        return false;
+      }
+      status = GenerationStatus.RUNNING;
+      message = "Re-driving " + driver.getDeadLetters().size() + " dead-lettered records";
+      updatedAt = System.currentTimeMillis();
+      return true;
+    }
+
+    private void closeIfDrained() {
+      EntityLoad current = driver;
+      if (current == null || current.getDeadLetters().size() == 0) {
+        close();
+      }
+    }
+
+    private synchronized boolean close() {
+      if (status == GenerationStatus.RUNNING) {
+        return false;
+      }
+      if (!closed) {
+        closed = true;
+        if (driver != null) {
+          try {
+            driver.cleanup();
+          } catch (Exception e) {
+            logger.warn("Failed to cleanup driver for job {}", jobId, e);
+          }
+        }
+      }
+      return true;
+    }
+
     private GenerationJobStatus toStatus() {
       GenerationJobStatus statusDto = new GenerationJobStatus();
       statusDto.setJobId(jobId);
@@ -206,6 +477,12 @@ public class GenerationJobService {
       statusDto.setPercentComplete(percentComplete());
       statusDto.setRecordsPerSecond(recordsPerSecond());
       statusDto.setMessage(message);
+      statusDto.setSeed(seed);
+      statusDto.setEpoch(epoch);
+      if (driver != null) {
+        statusDto.setDeadLetterCount(driver.getDeadLetters().size());
+        statusDto.setErrorCounts(driver.getDeadLetters().getErrorCounts());
+      }
       statusDto.setStartedAt(startedAt);
       statusDto.setUpdatedAt(updatedAt);
       return statusDto;
@@ -213,7 +490,7 @@ public class GenerationJobService {
 
     private int percentComplete() {
       if (totalRecords <= 0) {
-        return status == GenerationStatus.COMPLETED ? 100 : 0;
+        return status == GenerationStatus.COMPLETED || status == GenerationStatus.COMPLETED_WITH_ERRORS ? 100 : 0;
       }
       return (int) Math.min(100, Math.round((completedRecords * 100.0) / totalRecords));
     }
@@ -4,6 +4,7 @@ import io.lettuce.core.protocol.ProtocolKeyword;
 
 public enum JsonCommand implements ProtocolKeyword {
   JSON_SET("JSON.SET"),
+  JSON_MSET("JSON.MSET"),
   JSON_GET("JSON.GET"),
   JSON_DEL("JSON.DEL"),
   JSON_TYPE("JSON.TYPE"),
@@ -1,12 +1,18 @@
 package com.codelry.util.generator.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
 import io.lettuce.core.api.StatefulRedisConnection;
-import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.api.reactive.BaseRedisReactiveCommands;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
 import io.lettuce.core.output.ArrayOutput;
+import io.lettuce.core.output.CommandOutput;
 import io.lettuce.core.output.IntegerOutput;
 import io.lettuce.core.output.StatusOutput;
 import io.lettuce.core.output.ValueOutput;
@@ -16,31 +22,106 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V> {
 
   private final ObjectMapper objectMapper;
-  private final RedisReactiveCommands<String, String> commands;
+  private final List<StatefulConnection<String, String>> connections;
+  private final List<BaseRedisReactiveCommands<String, String>> shards;
+  private final ShardSelector selector;
+  private final Dispatch dispatch;
+  private final boolean cluster;
+  private volatile boolean closed;
+
+  public enum Dispatch {
+    ROUND_ROBIN,
+    LEAST_PENDING;
+
+    public static Dispatch from(String value) {
+      if (value == null || value.isBlank()) {
+        return LEAST_PENDING;
+      }
+      return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+  }
 
   public ReactiveRedisJsonTemplate(
       LettuceConnectionFactory connectionFactory,
       RedisSerializationContext<K, V> serializationContext,
       ObjectMapper objectMapper) {
+    this(connectionFactory, serializationContext, objectMapper, 1, Dispatch.ROUND_ROBIN);
+  }
+
+  public ReactiveRedisJsonTemplate(
+      LettuceConnectionFactory connectionFactory,
+      RedisSerializationContext<K, V> serializationContext,
+      ObjectMapper objectMapper,
+      int connectionCount,
+      Dispatch dispatch) {
     super(connectionFactory, serializationContext);
     this.objectMapper = objectMapper;
+    this.dispatch = dispatch;
+
+    AbstractRedisClient client = Objects.requireNonNull(connectionFactory.getNativeClient());
+    this.cluster = client instanceof RedisClusterClient;
+    List<StatefulConnection<String, String>> connections = new ArrayList<>();
+    List<BaseRedisReactiveCommands<String, String>> shards = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, connectionCount); i++) {
+      if (client instanceof RedisClusterClient clusterClient) {
+        StatefulRedisClusterConnection<String, String> clusterConnection = clusterClient.connect(StringCodec.UTF8);
+        connections.add(clusterConnection);
+        shards.add(clusterConnection.reactive());
+      } else {
+        StatefulRedisConnection<String, String> redisConnection = ((RedisClient) client).connect(StringCodec.UTF8);
+        connections.add(redisConnection);
+        shards.add(redisConnection.reactive());
+      }
+    }
+    this.connections = List.copyOf(connections);
+    this.shards = List.copyOf(shards);
+    this.selector = new ShardSelector(this.shards.size(), dispatch);
+  }
+
+  public int getConnectionCount() {
+    return shards.size();
+  }
+
+  public Dispatch getDispatch() {
+    return dispatch;
+  }
+
+  public boolean isCluster() {
+    return cluster;
+  }
+
+  public int getPending(int shard) {
+    return selector.getPending(shard);
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
 
-    StatefulRedisConnection<String, String> connection =
-        ((RedisClient) Objects.requireNonNull(connectionFactory.getNativeClient()))
-            .connect(StringCodec.UTF8);
-    this.commands = connection.reactive();
+  private <T> Flux<T> dispatch(ProtocolKeyword type, CommandOutput<String, String, ?> output,
+                               CommandArgs<String, String> args) {
+    return Flux.defer(() -> {
+      if (isClosed()) {
+        return Flux.error(new IllegalStateException("JSON template is closed"));
+      }
+      int shard = selector.acquire();
+      return shards.get(shard).<T>dispatch(type, output, args)
+          .doFinally(signal -> selector.release(shard));
+    });
   }
 
   public <T> Mono<Boolean> jsonSet(String key, String path, T value) {
     return Mono.fromCallable(() -> objectMapper.writeValueAsString(value))
         .flatMap(jsonString ->
-            commands.<String>dispatch(
+            this.<String>dispatch(
                     JsonCommand.JSON_SET,
                     new StatusOutput<>(StringCodec.UTF8),
                     new CommandArgs<>(StringCodec.UTF8)
@@ -58,8 +139,43 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
         );
   }
 
+  public Mono<Boolean> jsonSetRaw(String key, String path, byte[] json) {
+    return this.<String>dispatch(
+            JsonCommand.JSON_SET,
+            new StatusOutput<>(StringCodec.UTF8),
+            new CommandArgs<>(StringCodec.UTF8)
+                .addKey(key)
+                .add(path)
+                .add(json)
+        )
+        .next()
+        .map("OK"::equals)
+        .onErrorMap(e ->
+            new RuntimeException(
+                "Failed to execute JSON.SET for key: " + key, e
+            )
+        );
+  }
+
+  public Mono<Boolean> jsonMSetRaw(String path, Map<String, byte[]> documents) {
+    CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8);
+    documents.forEach((key, json) -> args.addKey(key).add(path).add(json));
+    return this.<String>dispatch(
+            JsonCommand.JSON_MSET,
+            new StatusOutput<>(StringCodec.UTF8),
+            args
+        )
+        .next()
+        .map("OK"::equals)
+        .onErrorMap(e ->
+            new RuntimeException(
+                "Failed to execute JSON.MSET for " + documents.size() + " keys", e
+            )
+        );
+  }
+
   public <T> Mono<T> jsonGet(String key, String path, Class<T> valueType) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_GET,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -80,7 +196,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<String> jsonGetRaw(String key, String path) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_GET,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -94,7 +210,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonDel(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_DEL,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -108,7 +224,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<String> jsonType(String key, String path) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_TYPE,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -134,7 +250,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
           args.add(jsonValue);
         }
 
-        return commands.<Long>dispatch(
+        return this.<Long>dispatch(
                 JsonCommand.JSON_ARRAPPEND,
                 new IntegerOutput<>(StringCodec.UTF8),
                 args
@@ -149,7 +265,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonArrLen(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_ARRLEN,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -165,7 +281,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   public <T> Mono<Long> jsonArrIndex(String key, String path, T value) {
     return Mono.fromCallable(() -> objectMapper.writeValueAsString(value))
         .flatMap(jsonValue ->
-            commands.<Long>dispatch(
+            this.<Long>dispatch(
                     JsonCommand.JSON_ARRINDEX,
                     new IntegerOutput<>(StringCodec.UTF8),
                     new CommandArgs<>(StringCodec.UTF8)
@@ -194,7 +310,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
           args.add(jsonValue);
         }
 
-        return commands.<Long>dispatch(
+        return this.<Long>dispatch(
                 JsonCommand.JSON_ARRINSERT,
                 new IntegerOutput<>(StringCodec.UTF8),
                 args
@@ -209,7 +325,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public <T> Mono<T> jsonArrPop(String key, String path, int index, Class<T> valueType) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_ARRPOP,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -231,7 +347,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonArrTrim(String key, String path, int start, int stop) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_ARRTRIM,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -247,7 +363,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Flux<String> jsonObjKeys(String key, String path) {
-    return commands.<List<String>>dispatch(
+    return this.<List<String>>dispatch(
             JsonCommand.JSON_OBJKEYS,
             new ArrayOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -262,7 +378,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonObjLen(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_OBJLEN,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -276,7 +392,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Double> jsonNumIncrBy(String key, String path, double value) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_NUMINCRBY,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -292,7 +408,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Double> jsonNumMultBy(String key, String path, double value) {
-    return commands.<String>dispatch(
+    return this.<String>dispatch(
             JsonCommand.JSON_NUMMULTBY,
             new ValueOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -308,7 +424,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonStrAppend(String key, String path, String value) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_STRAPPEND,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -323,7 +439,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonStrLen(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_STRLEN,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -337,7 +453,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonToggle(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_TOGGLE,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -351,7 +467,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public Mono<Long> jsonClear(String key, String path) {
-    return commands.<Long>dispatch(
+    return this.<Long>dispatch(
             JsonCommand.JSON_CLEAR,
             new IntegerOutput<>(StringCodec.UTF8),
             new CommandArgs<>(StringCodec.UTF8)
@@ -365,8 +481,7 @@ public class ReactiveRedisJsonTemplate<K, V> extends ReactiveRedisTemplate<K, V>
   }
 
   public void destroy() {
-    if (commands != null) {
-      commands.getStatefulConnection().close();
-    }
+    closed = true;
+    connections.forEach(StatefulConnection::close);
   }
 }
@@ -0,0 +1,88 @@
+package com.codelry.util.generator.service;
+
+import com.codelry.util.generator.data.FieldTable;
+import com.codelry.util.generator.data.GeneratedRecord;
+import com.codelry.util.generator.data.RecordValue;
+import com.codelry.util.generator.driver.HashEncoder;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.ByteString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+public final class RecordBatchEncoder {
+  private static final RecordValue NULL_VALUE = RecordValue.newBuilder().setNullValue(true).build();
+
+  private RecordBatchEncoder() {}
+
+  public static FieldTable fieldTable(EntityDefinition definition) {
+    FieldTable.Builder table = FieldTable.newBuilder()
+        .setEntity(definition.getTableName() != null ? definition.getTableName() : definition.getId());
+    if (definition.getFields() != null) {
+      for (FieldDefinition field : definition.getFields()) {
+        table.addNames(field.getName());
+      }
+    }
+    return table.build();
+  }
+
+  public static GeneratedRecord encode(Entity record, List<String> names) {
+    GeneratedRecord.Builder builder = GeneratedRecord.newBuilder().setIndex(record.getIndex());
+    if (record.getId() != null) {
+      builder.setId(record.getId());
+    }
+    for (int i = 0; i < names.size(); i++) {
+      builder.addValues(record.getDocument() != null
+          ? value(record.getDocument().get(names.get(i)))
+          : value(record.getValue(i, names.get(i))));
+    }
+    return builder.build();
+  }
+
+  public static RecordValue value(Object value) {
+    if (value == null) {
+      return NULL_VALUE;
+    } else if (value instanceof String text) {
+      return RecordValue.newBuilder().setStringValue(text).build();
+    } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+      return RecordValue.newBuilder().setLongValue(((Number) value).longValue()).build();
+    } else if (value instanceof Number number) {
+      return RecordValue.newBuilder().setDoubleValue(number.doubleValue()).build();
+    } else if (value instanceof Boolean flag) {
+      return RecordValue.newBuilder().setBoolValue(flag).build();
+    } else if (value instanceof Date date) {
+      return RecordValue.newBuilder().setTimestampValue(date.getTime()).build();
+    } else if (value instanceof LocalDateTime time) {
+      return RecordValue.newBuilder().setTimestampValue(time.toInstant(ZoneOffset.UTC).toEpochMilli()).build();
+    } else if (value instanceof LocalDate date) {
+      return RecordValue.newBuilder()
+          .setTimestampValue(date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli()).build();
+    } else if (value instanceof byte[] bytes) {
+      return RecordValue.newBuilder().setBytesValue(ByteString.copyFrom(bytes)).build();
+    } else if (value instanceof float[] vector) {
+      return RecordValue.newBuilder().setBytesValue(ByteString.copyFrom(HashEncoder.vector(vector))).build();
+    }
+    return RecordValue.newBuilder().setStringValue(String.valueOf(value)).build();
+  }
+
+  public static RecordValue value(JsonNode node) {
+    if (node == null || node.isNull()) {
+      return NULL_VALUE;
+    } else if (node.isIntegralNumber() && node.canConvertToLong()) {
+      return RecordValue.newBuilder().setLongValue(node.longValue()).build();
+    } else if (node.isNumber()) {
+      return RecordValue.newBuilder().setDoubleValue(node.doubleValue()).build();
+    } else if (node.isBoolean()) {
+      return RecordValue.newBuilder().setBoolValue(node.booleanValue()).build();
+    } else if (node.isTextual()) {
+      return RecordValue.newBuilder().setStringValue(node.textValue()).build();
+    }
+    return RecordValue.newBuilder().setStringValue(node.toString()).build();
+  }
+}
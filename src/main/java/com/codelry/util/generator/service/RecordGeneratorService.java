@@ -0,0 +1,187 @@
+package com.codelry.util.generator.service;
+
+import com.codelry.util.generator.data.FieldTable;
+import com.codelry.util.generator.data.GenerateRecordsRequest;
+import com.codelry.util.generator.data.RecordBatch;
+import com.codelry.util.generator.data.RecordGeneratorGrpc;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.generator.EntityLoad;
+import com.codelry.util.generator.generator.GenerationCancelledException;
+import com.codelry.util.generator.generator.GenerationListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.lognet.springboot.grpc.GRpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@GRpcService
+public class RecordGeneratorService extends RecordGeneratorGrpc.RecordGeneratorImplBase {
+  private static final Logger logger = LoggerFactory.getLogger(RecordGeneratorService.class);
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+  private final MeterRegistry registry;
+  private final int maxStreams;
+  private final ThreadPoolExecutor executor;
+
+  public RecordGeneratorService(
+      MeterRegistry registry,
+      @Value("${generator.grpc.max-streams:8}") int maxStreams) {
+    this.registry = registry;
+    this.maxStreams = Math.max(1, maxStreams);
+    this.executor = new ThreadPoolExecutor(0, this.maxStreams, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+      Thread thread = new Thread(r, "grpc-generate");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public void generate(GenerateRecordsRequest request, StreamObserver<RecordBatch> responseObserver) {
+    ServerCallStreamObserver<RecordBatch> observer = (ServerCallStreamObserver<RecordBatch>) responseObserver;
+    EntityCollection schema;
+    try {
+      schema = MAPPER.readValue(request.getSchema(), EntityCollection.class);
+    } catch (Exception e) {
+      observer.onError(Status.INVALID_ARGUMENT.withDescription("Invalid schema: " + e.getMessage()).asRuntimeException());
+      return;
+    }
+    if (schema.getEntities() == null || schema.getEntities().isEmpty()) {
+      observer.onError(Status.INVALID_ARGUMENT.withDescription("Schema has no entities").asRuntimeException());
+      return;
+    }
+    if (request.hasSeed()) {
+      schema.setSeed(request.getSeed());
+    }
+    if (request.hasEpoch()) {
+      schema.setEpoch(request.getEpoch());
+    }
+    BatchStream stream = new BatchStream(observer);
+    long start = request.getStart() > 0 ? request.getStart() : 1;
+    if (request.getCount() > 0) {
+      stream.init(schema, start, request.getCount(), registry);
+    } else {
+      stream.init(schema, start, registry);
+    }
+    stream.setBatchSize(request.getBatchSize() > 0 ? request.getBatchSize() : DEFAULT_BATCH_SIZE);
+    try {
+      executor.execute(stream::run);
+    } catch (RejectedExecutionException e) {
+      logger.warn("Rejecting gRPC generate stream, {} streams already running", maxStreams);
+      observer.onError(Status.RESOURCE_EXHAUSTED
+          .withDescription("Too many concurrent generate streams (limit " + maxStreams + ")")
+          .asRuntimeException());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static final class BatchStream extends EntityLoad implements GenerationListener {
+    private final ServerCallStreamObserver<RecordBatch> observer;
+    private final Object ready = new Object();
+    private volatile boolean cancelled;
+    private FieldTable fields;
+    private boolean fieldsSent;
+    private long sent;
+
+    private BatchStream(ServerCallStreamObserver<RecordBatch> observer) {
+      this.observer = observer;
+      setMaxInFlight(1);
+      observer.setOnReadyHandler(this::signal);
+      observer.setOnCancelHandler(() -> {
+        cancelled = true;
+        signal();
+      });
+    }
+
+    private void signal() {
+      synchronized (ready) {
+        ready.notifyAll();
+      }
+    }
+
+    private void run() {
+      try {
+        generate(this);
+        observer.onCompleted();
+        logger.info("Streamed {} records over gRPC", sent);
+      } catch (GenerationCancelledException e) {
+        logger.info("gRPC generate stream cancelled after {} records", sent);
+      } catch (RuntimeException e) {
+        if (cancelled) {
+          logger.info("gRPC generate stream cancelled after {} records", sent);
+        } else {
+          logger.error("gRPC generate stream failed after {} records", sent, e);
+          observer.onError(Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+        }
+      }
+    }
+
+    @Override
+    public void prepare() {}
+
+    @Override
+    public synchronized void startEntity(EntityDefinition definition) {
+      fields = RecordBatchEncoder.fieldTable(definition);
+      fieldsSent = false;
+    }
+
+    @Override
+    public synchronized void insertBatch(List<Entity> batch) {
+      awaitReady();
+      RecordBatch.Builder builder = RecordBatch.newBuilder();
+      if (!fieldsSent) {
+        builder.setFields(fields);
+        fieldsSent = true;
+      }
+      List<String> names = fields.getNamesList();
+      for (Entity record : batch) {
+        builder.addRecords(RecordBatchEncoder.encode(record, names));
+      }
+      observer.onNext(builder.build());
+      sent += batch.size();
+    }
+
+    private void awaitReady() {
+      synchronized (ready) {
+        while (!observer.isReady() && !cancelled) {
+          try {
+            ready.wait(100);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationCancelledException();
+          }
+        }
+      }
+      if (cancelled) {
+        throw new GenerationCancelledException();
+      }
+    }
+
+    @Override
+    public void onProgress(long completedRecords, long totalRecords) {}
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public void cleanup() {}
+  }
+}
@@ -4,10 +4,19 @@ import com.codelry.util.generator.dto.RedisConnectionConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redis.lettucemod.RedisModulesClient;
 import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.SslOptions;
 import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.BaseRedisReactiveCommands;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
 import io.lettuce.core.resource.ClientResources;
 import io.lettuce.core.support.ConnectionPoolSupport;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
@@ -16,6 +25,7 @@ import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -46,6 +56,9 @@ public class RedisConnectionManager {
   private final ClientResources clientResources;
   private final Map<String, Boolean> connectedByUser = new ConcurrentHashMap<>();
   private final Map<String, Boolean> useJsonByUser = new ConcurrentHashMap<>();
+  private final Map<String, RedisConnectionConfig> configsByUser = new ConcurrentHashMap<>();
+  private final Map<String, ReactiveRedisJsonTemplate<String, String>> jsonTemplates = new ConcurrentHashMap<>();
+  private final Map<String, StatefulConnection<byte[], byte[]>> binaryConnections = new ConcurrentHashMap<>();
 
   public RedisConnectionManager(ClientResources clientResources) {
     this.clientResources = clientResources;
@@ -61,12 +74,14 @@ public class RedisConnectionManager {
     factory.start();
     connectionFactories.put(userId, factory);
 
-    RedisModulesClient client = createModulesClient(config);
-    modulesClients.put(userId, client);
+    if (!config.isUseCluster()) {
+      RedisModulesClient client = createModulesClient(config);
+      modulesClients.put(userId, client);
 
-    GenericObjectPool<StatefulRedisModulesConnection<String, String>> pool =
-        createConnectionPool(client, config);
-    connectionPools.put(userId, pool);
+      GenericObjectPool<StatefulRedisModulesConnection<String, String>> pool =
+          createConnectionPool(client, config);
+      connectionPools.put(userId, pool);
+    }
 
     if (config.isUseJson()) {
       useJsonByUser.put(userId, true);
@@ -75,6 +90,7 @@ public class RedisConnectionManager {
       useJsonByUser.put(userId, false);
     }
 
+    configsByUser.put(userId, config);
     connectedByUser.put(userId, true);
     logger.info("[userId={}] Successfully connected to Redis", userId);
   }
@@ -82,6 +98,16 @@ public class RedisConnectionManager {
   public synchronized void disconnect(String userId) {
     connectedByUser.put(userId, false);
 
+    ReactiveRedisJsonTemplate<String, String> jsonTemplate = jsonTemplates.remove(userId);
+    if (jsonTemplate != null) {
+      jsonTemplate.destroy();
+    }
+
+    StatefulConnection<byte[], byte[]> binaryConnection = binaryConnections.remove(userId);
+    if (binaryConnection != null) {
+      binaryConnection.close();
+    }
+
     GenericObjectPool<StatefulRedisModulesConnection<String, String>> pool = connectionPools.remove(userId);
     if (pool != null) {
       pool.close();
@@ -98,6 +124,7 @@ public class RedisConnectionManager {
     }
 
     useJsonByUser.remove(userId);
+    configsByUser.remove(userId);
     reactiveFactories.remove(userId);
 
     logger.info("[userId={}] Disconnected from Redis", userId);
@@ -112,6 +139,13 @@ public class RedisConnectionManager {
     return Boolean.TRUE.equals(useJsonByUser.get(userId));
   }
 
+  public RedisConnectionConfig getConfig(String userId) {
+    if (isNotConnected(userId)) {
+      throw new IllegalStateException("Redis is not connected for userId=" + userId);
+    }
+    return configsByUser.get(userId);
+  }
+
   public LettuceConnectionFactory getConnectionFactory(String userId) {
     if (isNotConnected(userId)) {
       throw new IllegalStateException("Redis is not connected for userId=" + userId);
@@ -119,6 +153,17 @@ public class RedisConnectionManager {
     return connectionFactories.get(userId);
   }
 
+  public RedisClusterClient getClusterClient(String userId) {
+    if (getNativeClient(userId) instanceof RedisClusterClient client) {
+      return client;
+    }
+    throw new IllegalStateException("Redis is not connected to a cluster for userId=" + userId);
+  }
+
+  private AbstractRedisClient getNativeClient(String userId) {
+    return getConnectionFactory(userId).getNativeClient();
+  }
+
   public RedisModulesClient getModulesClient(String userId) {
     if (isNotConnected(userId)) {
       throw new IllegalStateException("Redis is not connected for userId=" + userId);
@@ -148,21 +193,57 @@ public class RedisConnectionManager {
   }
 
   public ReactiveRedisJsonTemplate<String, String> reactiveRedisJsonTemplate(String userId) {
-    StringRedisSerializer serializer = new StringRedisSerializer();
-    ObjectMapper mapper = new ObjectMapper();
-
-    RedisSerializationContext<String, String> context = RedisSerializationContext
-        .<String, String>newSerializationContext(serializer)
-        .key(serializer)
-        .value(serializer)
-        .hashKey(serializer)
-        .hashValue(serializer)
-        .build();
+    LettuceConnectionFactory factory = getConnectionFactory(userId);
+    RedisConnectionConfig config = getConfig(userId);
+    return jsonTemplates.computeIfAbsent(userId, id -> {
+      StringRedisSerializer serializer = new StringRedisSerializer();
+      ObjectMapper mapper = new ObjectMapper();
+
+      RedisSerializationContext<String, String> context = RedisSerializationContext
+          .<String, String>newSerializationContext(serializer)
+          .key(serializer)
+          .value(serializer)
+          .hashKey(serializer)
+          .hashValue(serializer)
+          .build();
+
+      ReactiveRedisJsonTemplate.Dispatch dispatch = ReactiveRedisJsonTemplate.Dispatch.from(config.getJsonDispatch());
+      logger.info("[userId={}] Opening {} JSON connections with {} dispatch", id, config.getJsonConnections(), dispatch);
+      return new ReactiveRedisJsonTemplate<>(factory, context, mapper, config.getJsonConnections(), dispatch);
+    });
+  }
 
-    return new ReactiveRedisJsonTemplate<>(getConnectionFactory(userId), context, mapper);
+  public BaseRedisReactiveCommands<byte[], byte[]> reactiveBinaryCommands(String userId) {
+    AbstractRedisClient client = getNativeClient(userId);
+    StatefulConnection<byte[], byte[]> connection = binaryConnections.computeIfAbsent(userId, id ->
+        client instanceof RedisClusterClient clusterClient
+            ? clusterClient.connect(ByteArrayCodec.INSTANCE)
+            : ((RedisClient) client).connect(ByteArrayCodec.INSTANCE));
+    if (connection instanceof StatefulRedisClusterConnection<byte[], byte[]> clusterConnection) {
+      return clusterConnection.reactive();
+    }
+    return ((StatefulRedisConnection<byte[], byte[]>) connection).reactive();
   }
 
   private LettuceConnectionFactory createConnectionFactory(RedisConnectionConfig config) throws Exception {
+    GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = createPoolConfig(config);
+
+    LettuceClientConfiguration clientConfig = LettucePoolingClientConfiguration.builder()
+        .commandTimeout(config.getTimeout())
+        .poolConfig(poolConfig)
+        .clientResources(clientResources)
+        .clientOptions(createClientOptions(config))
+        .build();
+
+    if (config.isUseCluster()) {
+      RedisClusterConfiguration clusterConfig = new RedisClusterConfiguration();
+      clusterConfig.clusterNode(config.getHost(), config.getPort());
+      if (StringUtils.hasText(config.getPassword())) {
+        clusterConfig.setPassword(config.getPassword());
+      }
+      return new LettuceConnectionFactory(clusterConfig, clientConfig);
+    }
+
     RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
     redisConfig.setHostName(config.getHost());
     redisConfig.setPort(config.getPort());
@@ -172,16 +253,20 @@ public class RedisConnectionManager {
       redisConfig.setPassword(config.getPassword());
     }
 
-    GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = createPoolConfig(config);
-
-    LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigBuilder =
-        LettucePoolingClientConfiguration.builder()
-            .commandTimeout(config.getTimeout())
-            .poolConfig(poolConfig)
-            .clientResources(clientResources);
+    return new LettuceConnectionFactory(redisConfig, clientConfig);
+  }
 
-    ClientOptions.Builder options = ClientOptions.builder()
-        .autoReconnect(true)
+  private ClientOptions createClientOptions(RedisConnectionConfig config) throws Exception {
+    ClientOptions.Builder options;
+    if (config.isUseCluster()) {
+      options = ClusterClientOptions.builder()
+          .topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+              .enableAllAdaptiveRefreshTriggers()
+              .build());
+    } else {
+      options = ClientOptions.builder();
+    }
+    options.autoReconnect(true)
         .pingBeforeActivateConnection(true);
 
     if (config.isUseSsl()) {
@@ -189,10 +274,7 @@ public class RedisConnectionManager {
       options.sslOptions(sslOptions);
     }
 
-    clientConfigBuilder.clientOptions(options.build());
-    LettuceClientConfiguration clientConfig = clientConfigBuilder.build();
-
-    return new LettuceConnectionFactory(redisConfig, clientConfig);
+    return options.build();
   }
 
   private RedisModulesClient createModulesClient(RedisConnectionConfig config) throws Exception {
@@ -0,0 +1,56 @@
+package com.codelry.util.generator.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShardSelector {
+  private final AtomicInteger[] pending;
+  private final AtomicInteger next = new AtomicInteger();
+  private final ReactiveRedisJsonTemplate.Dispatch dispatch;
+
+  public ShardSelector(int shards, ReactiveRedisJsonTemplate.Dispatch dispatch) {
+    this.dispatch = dispatch;
+    this.pending = new AtomicInteger[Math.max(1, shards)];
+    for (int i = 0; i < pending.length; i++) {
+      pending[i] = new AtomicInteger();
+    }
+  }
+
+  public int size() {
+    return pending.length;
+  }
+
+  public int acquire() {
+    int shard = select();
+    pending[shard].incrementAndGet();
+    return shard;
+  }
+
+  public void release(int shard) {
+    pending[shard].decrementAndGet();
+  }
+
+  public int getPending(int shard) {
+    return pending[shard].get();
+  }
+
+  private int select() {
+    if (pending.length == 1) {
+      return 0;
+    }
+    if (dispatch == ReactiveRedisJsonTemplate.Dispatch.ROUND_ROBIN) {
+      return Math.floorMod(next.getAndIncrement(), pending.length);
+    }
+    int start = Math.floorMod(next.getAndIncrement(), pending.length);
+    int selected = start;
+    int least = Integer.MAX_VALUE;
+    for (int i = 0; i < pending.length; i++) {
+      int shard = (start + i) % pending.length;
+      int count = pending[shard].get();
+      if (count < least) {
+        least = count;
+        selected = shard;
+      }
+    }
+    return selected;
+  }
+}
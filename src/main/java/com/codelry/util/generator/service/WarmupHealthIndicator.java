@@ -0,0 +1,26 @@
+package com.codelry.util.generator.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+  private final WarmupService warmupService;
+
+  public WarmupHealthIndicator(WarmupService warmupService) {
+    this.warmupService = warmupService;
+  }
+
+  @Override
+  public Health health() {
+    return switch (warmupService.getState()) {
+      case READY -> Health.up()
+          .withDetail("referenceDataMillis", warmupService.getReferenceDataMillis())
+          .withDetail("warmupMillis", warmupService.getWarmupMillis())
+          .build();
+      case FAILED -> Health.down().withDetail("error", String.valueOf(warmupService.getError())).build();
+      default -> Health.outOfService().withDetail("state", warmupService.getState().name()).build();
+    };
+  }
+}
@@ -0,0 +1,129 @@
+package com.codelry.util.generator.service;
+
+import com.codelry.util.generator.db.DatabaseManager;
+import com.codelry.util.generator.dto.ColumnType;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.generator.EntityFactory;
+import com.codelry.util.generator.generator.EntityPlan;
+import com.codelry.util.generator.generator.Render;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class WarmupService {
+  private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+  private static final String WARMUP_TEMPLATE =
+      "{\"id\": \"{{ random_uuid() }}\", \"name\": \"{{ FULL_NAME }}\", \"city\": \"{{ CITY }}\", \"qty\": {{ number(1, 10) }}}";
+
+  public enum State { PENDING, RUNNING, READY, FAILED }
+
+  private final boolean enabled;
+  private final int records;
+  private volatile State state = State.PENDING;
+  private volatile long referenceDataMillis;
+  private volatile long warmupMillis;
+  private volatile String error;
+
+  public WarmupService(
+      @Value("${generator.warmup.enabled:true}") boolean enabled,
+      @Value("${generator.warmup.records:2000}") int records) {
+    this.enabled = enabled;
+    this.records = records;
+  }
+
+  @EventListener(ApplicationStartedEvent.class)
+  public void onStarted() {
+    if (!enabled) {
+      state = State.READY;
+      return;
+    }
+    Thread thread = new Thread(this::warmup, "generator-warmup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public void warmup() {
+    state = State.RUNNING;
+    long start = System.nanoTime();
+    try {
+      DatabaseManager.getInstance();
+      referenceDataMillis = (System.nanoTime() - start) / 1_000_000;
+      logger.info("Reference data loaded in {} ms", referenceDataMillis);
+
+      EntityFactory factory = new EntityFactory(EntityPlan.compile(warmupDefinition()), 1, records, new SimpleMeterRegistry());
+      factory.start();
+      try {
+        List<Entity> batch;
+        while ((batch = factory.nextBatch()) != null) {
+          for (Entity entity : batch) {
+            entity.asBytes();
+          }
+          batch.get(0).asJson();
+        }
+      } finally {
+        factory.stop();
+      }
+
+      Render render = new Render();
+      for (int i = 0; i < 100; i++) {
+        render.processTemplate(WARMUP_TEMPLATE, i + 1);
+      }
+
+      warmupMillis = (System.nanoTime() - start) / 1_000_000;
+      state = State.READY;
+      logger.info("Generator warm-up completed in {} ms", warmupMillis);
+    } catch (Throwable t) {
+      if (t instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      error = t.getMessage();
+      state = State.FAILED;
+      logger.error("Generator warm-up failed: {}", t.getMessage(), t);
+    }
+  }
+
+  private static EntityDefinition warmupDefinition() {
+    List<FieldDefinition> fields = new ArrayList<>();
+    for (ColumnType type : ColumnType.values()) {
+      if (type == ColumnType.UNKNOWN) {
+        continue;
+      }
+      FieldDefinition field = new FieldDefinition();
+      field.setName(type.getText());
+      field.setFromType(type.getText());
+      fields.add(field);
+    }
+    EntityDefinition definition = new EntityDefinition();
+    definition.setTableName("warmup");
+    definition.setNosql(true);
+    definition.setKeyFormat("{{ __table__ }}:{{ sequentialNumber }}");
+    definition.setFields(fields);
+    return definition;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public long getReferenceDataMillis() {
+    return referenceDataMillis;
+  }
+
+  public long getWarmupMillis() {
+    return warmupMillis;
+  }
+
+  public String getError() {
+    return error;
+  }
+}
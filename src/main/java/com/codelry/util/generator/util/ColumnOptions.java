@@ -54,6 +54,23 @@ public final class ColumnOptions {
     return DEFAULT_SET_MEMBERS;
   }
 
+  public static int getIntValue(Map<String, Object> options, String key, int defaultValue) {
+    if (options == null || !options.containsKey(key)) {
+      return defaultValue;
+    }
+
+    Object value = options.get(key);
+    if (value instanceof Number number) {
+      return number.intValue();
+    }
+
+    try {
+      return Integer.parseInt(String.valueOf(value).trim());
+    } catch (NumberFormatException ignored) {
+      return defaultValue;
+    }
+  }
+
   public static String getWordValue(Map<String, Object> options) {
     if (options == null || !options.containsKey("value")) {
       return DEFAULT_WORD;
@@ -0,0 +1,85 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.AdaptiveLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+  @Test
+  void limitGrowsWhileWritesSucceed() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter("test", t -> t instanceof IllegalStateException);
+    limiter.setLimits(4, 1, 64);
+    Flux.range(0, 500)
+        .flatMap(i -> limiter.execute(() -> Mono.delay(Duration.ofMillis(1))), limiter.getMaxLimit())
+        .blockLast();
+    assertTrue(limiter.getLimit() > 4);
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void limitBacksOffOnDrops() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter("test", t -> t instanceof IllegalStateException);
+    limiter.setLimits(32, 2, 64);
+    Flux.range(0, 50)
+        .flatMap(i -> limiter.execute(() -> Mono.error(new IllegalStateException("busy")))
+            .onErrorResume(e -> Mono.empty()))
+        .blockLast();
+    assertEquals(2, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void inFlightNeverExceedsLimit() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter("test", t -> false);
+    limiter.setLimits(3, 3, 3);
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    Flux.range(0, 100)
+        .flatMap(i -> limiter.execute(() -> Mono.defer(() -> {
+          peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+          return Mono.delay(Duration.ofMillis(1)).doOnNext(v -> active.decrementAndGet());
+        })), 32)
+        .blockLast();
+    assertEquals(3, peak.get());
+  }
+
+  @Test
+  void reportsLimitAsGauge() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AdaptiveLimiter limiter = new AdaptiveLimiter("test", t -> false);
+    limiter.setLimits(16, 1, 64);
+    limiter.bindTo(registry);
+    assertEquals(16.0, registry.get("sink.concurrency.limit").tag("sink", "test").gauge().value());
+    limiter.unbind();
+    assertNull(registry.find("sink.concurrency.limit").gauge());
+  }
+
+  @Test
+  void concurrentLimitersKeepSeparateGauges() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AdaptiveLimiter first = new AdaptiveLimiter("test", t -> false);
+    first.setLimits(8, 1, 64);
+    first.setInstance("job-1");
+    first.bindTo(registry);
+    AdaptiveLimiter second = new AdaptiveLimiter("test", t -> false);
+    second.setLimits(24, 1, 64);
+    second.setInstance("job-2");
+    second.bindTo(registry);
+
+    assertEquals(8.0, registry.get("sink.concurrency.limit").tag("instance", "job-1").gauge().value());
+    assertEquals(24.0, registry.get("sink.concurrency.limit").tag("instance", "job-2").gauge().value());
+
+    first.unbind();
+    assertNull(registry.find("sink.concurrency.limit").tag("instance", "job-1").gauge());
+    assertEquals(24.0, registry.get("sink.concurrency.limit").tag("instance", "job-2").gauge().value());
+    second.unbind();
+  }
+}
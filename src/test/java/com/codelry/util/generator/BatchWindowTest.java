@@ -0,0 +1,109 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.generator.EntityLoad;
+import com.codelry.util.generator.generator.GenerationListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchWindowTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ScheduledExecutorService IO = Executors.newScheduledThreadPool(4);
+  private static EntityCollection schema;
+
+  static class AsyncSink extends EntityLoad {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final boolean fail;
+
+    AsyncSink(boolean fail) {
+      this.fail = fail;
+    }
+
+    @Override
+    public void prepare() {}
+
+    @Override
+    public void insertBatch(List<Entity> batch) {
+      writeBatch(batch).toCompletableFuture().join();
+    }
+
+    @Override
+    public CompletionStage<Void> writeBatch(List<Entity> batch) {
+      maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      IO.schedule(() -> {
+        inFlight.decrementAndGet();
+        if (fail) {
+          future.completeExceptionally(new IllegalStateException("write failed"));
+        } else {
+          written.addAndGet(batch.size());
+          future.complete(null);
+        }
+      }, 5, TimeUnit.MILLISECONDS);
+      return future;
+    }
+
+    @Override
+    public void cleanup() {}
+  }
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    IO.shutdownNow();
+  }
+
+  @Test
+  void boundsBatchesInFlight() {
+    AsyncSink sink = new AsyncSink(false);
+    sink.init(schema, 1, 2000);
+    sink.setBatchSize(50);
+    sink.setMaxInFlight(3);
+    AtomicLong progress = new AtomicLong();
+    sink.generate(new GenerationListener() {
+      @Override
+      public void onProgress(long completedRecords, long totalRecords) {
+        progress.set(completedRecords);
+      }
+
+      @Override
+      public boolean isCancelled() {
+        return false;
+      }
+    });
+
+    assertEquals(sink.computeTotalRecords(), sink.written.get());
+    assertEquals(sink.computeTotalRecords(), progress.get());
+    assertTrue(sink.maxObserved.get() <= 3);
+    assertEquals(0, sink.inFlight.get());
+  }
+
+  @Test
+  void asyncFailureFailsGeneration() {
+    AsyncSink sink = new AsyncSink(true);
+    sink.init(schema, 1, 500);
+    sink.setBatchSize(50);
+    RuntimeException e = assertThrows(RuntimeException.class, sink::generate);
+    assertEquals("write failed", e.getMessage());
+    assertEquals(0, sink.inFlight.get());
+  }
+}
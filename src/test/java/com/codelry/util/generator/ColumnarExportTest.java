@@ -0,0 +1,176 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.ColumnarExport;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.arrow.dataset.file.FileFormat;
+import org.apache.arrow.dataset.file.FileSystemDatasetFactory;
+import org.apache.arrow.dataset.jni.NativeMemoryPool;
+import org.apache.arrow.dataset.scanner.ScanOptions;
+import org.apache.arrow.dataset.scanner.Scanner;
+import org.apache.arrow.dataset.source.Dataset;
+import org.apache.arrow.dataset.source.DatasetFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarExportTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String SCHEMA = """
+      {
+        "id": "6d1c2b3a-4e5f-4a6b-9c7d-8e9f0a1b2c3d",
+        "name": "columnar",
+        "nosql": false,
+        "tables": [{
+          "id": "7e2d3c4b-5f6a-4b7c-8d9e-0f1a2b3c4d5e",
+          "name": "bookings",
+          "columns": [
+            { "id": "1", "name": "id", "type": "sequentialNumber" },
+            { "id": "2", "name": "cabin", "type": "cabinCode" },
+            { "id": "3", "name": "fare", "type": "dollarAmount" },
+            { "id": "4", "name": "checked_in", "type": "boolean" },
+            { "id": "5", "name": "booked", "type": "timestamp" }
+          ]
+        }]
+      }
+      """;
+
+  @Test
+  void writesTypedArrowFileWithDictionaries(@TempDir Path directory) throws IOException {
+    EntityCollection schema = MAPPER.readValue(SCHEMA, EntityCollection.class);
+    ColumnarExport export = new ColumnarExport(directory, ColumnarExport.Format.ARROW);
+    export.init(schema, 1, 1000);
+    export.setBatchSize(100);
+    export.prepare();
+    try {
+      export.generate();
+    } finally {
+      export.cleanup();
+    }
+
+    assertEquals(1, export.getFiles().size());
+    Path file = export.getFiles().get(0);
+    assertEquals("bookings.arrow", file.getFileName().toString());
+
+    try (BufferAllocator allocator = new RootAllocator();
+         FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+         ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      Field id = root.getSchema().findField("id");
+      Field cabin = root.getSchema().findField("cabin");
+      assertEquals(new ArrowType.Int(64, true), id.getType());
+      assertNotNull(cabin.getDictionary());
+      assertNull(root.getSchema().findField("fare").getDictionary());
+      assertInstanceOf(ArrowType.Bool.class, root.getSchema().findField("checked_in").getType());
+      assertInstanceOf(ArrowType.Timestamp.class, root.getSchema().findField("booked").getType());
+      assertEquals(1, reader.getDictionaryVectors().size());
+
+      Set<Long> ids = new HashSet<>();
+      while (reader.loadNextBatch()) {
+        BigIntVector vector = (BigIntVector) root.getVector("id");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          ids.add(vector.get(i));
+        }
+      }
+      assertEquals(1000, ids.size());
+    }
+  }
+
+  @Test
+  void writesSingleParquetFileWithDictionaryColumns(@TempDir Path directory) throws IOException {
+    EntityCollection schema = MAPPER.readValue(SCHEMA, EntityCollection.class);
+    ColumnarExport export = new ColumnarExport(directory, ColumnarExport.Format.PARQUET);
+    export.init(schema, 1, 1000);
+    export.setBatchSize(100);
+    export.setThreads(4);
+    export.prepare();
+    try {
+      export.generate();
+    } finally {
+      export.cleanup();
+    }
+
+    Path file = export.getFiles().get(0);
+    assertEquals("bookings.parquet", file.getFileName().toString());
+    assertTrue(Files.isRegularFile(file));
+    try (Stream<Path> entries = Files.list(directory)) {
+      assertEquals(List.of(file), entries.toList());
+    }
+
+    FileMetaData metadata = footer(file);
+    assertEquals(1000, metadata.getNum_rows());
+    for (RowGroup group : metadata.getRow_groups()) {
+      ColumnMetaData cabin = group.getColumns().stream().map(ColumnChunk::getMeta_data)
+          .filter(column -> column.getPath_in_schema().equals(List.of("cabin")))
+          .findFirst().orElseThrow();
+      assertTrue(cabin.isSetDictionary_page_offset());
+      assertTrue(cabin.getEncodings().contains(Encoding.RLE_DICTIONARY)
+          || cabin.getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+    }
+
+    Set<Long> ids = new HashSet<>();
+    Set<String> cabins = new HashSet<>();
+    try (BufferAllocator allocator = new RootAllocator();
+         DatasetFactory factory = new FileSystemDatasetFactory(allocator, NativeMemoryPool.getDefault(),
+             FileFormat.PARQUET, file.toUri().toString());
+         Dataset dataset = factory.finish();
+         Scanner scanner = dataset.newScan(new ScanOptions(256));
+         ArrowReader reader = scanner.scanBatches()) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      while (reader.loadNextBatch()) {
+        BigIntVector id = (BigIntVector) root.getVector("id");
+        VarCharVector cabin = (VarCharVector) root.getVector("cabin");
+        for (int i = 0; i < root.getRowCount(); i++) {
+          ids.add(id.get(i));
+          cabins.add(new String(cabin.get(i), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    assertEquals(1000, ids.size());
+    assertTrue(Set.of("F", "J", "W", "Y").containsAll(cabins));
+  }
+
+  private static FileMetaData footer(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer tail = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+      channel.read(tail, channel.size() - 8);
+      int length = tail.getInt(0);
+      assertEquals("PAR1", new String(tail.array(), 4, 4, StandardCharsets.US_ASCII));
+      ByteBuffer footer = ByteBuffer.allocate(length);
+      channel.read(footer, channel.size() - 8 - length);
+      return Util.readFileMetaData(new ByteArrayInputStream(footer.array()));
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.db.DatabaseManager;
+import com.codelry.util.generator.db.ReferenceSnapshot;
+import com.codelry.util.generator.db.ReferenceStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseManagerTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void buildPackagesReferenceSnapshot() {
+    assertNotNull(DatabaseManager.class.getClassLoader().getResource(ReferenceSnapshot.RESOURCE));
+  }
+
+  @Test
+  void loadsSnapshotWhenPresent() throws Exception {
+    ReferenceStore store = DatabaseManager.getInstance().getStore();
+    ReferenceSnapshot.write(store, directory.resolve(ReferenceSnapshot.RESOURCE));
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+      assertNull(loader.getResource("data/source.db"));
+      ReferenceStore loaded = DatabaseManager.load(loader);
+      assertEquals(store.getNameCount(), loaded.getNameCount());
+      assertEquals(store.getAddressCount(), loaded.getAddressCount());
+      assertEquals(store.getLengths(), loaded.getLengths());
+    }
+  }
+}
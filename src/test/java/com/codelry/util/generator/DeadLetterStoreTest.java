@@ -0,0 +1,128 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.generator.DeadLetterStore;
+import com.codelry.util.generator.generator.EntityLoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadLetterStoreTest {
+
+  static class FlakySink extends EntityLoad {
+    private final List<Entity> written = new ArrayList<>();
+    private boolean failing = true;
+    private boolean broken;
+
+    @Override
+    public void prepare() {}
+
+    @Override
+    public void insertBatch(List<Entity> batch) {
+      if (broken) {
+        throw new IllegalStateException("connection closed");
+      }
+      for (Entity record : batch) {
+        if (failing && record.getIndex() % 2 == 0) {
+          deadLetter(record, new TimeoutException("timed out"));
+        } else {
+          written.add(record);
+        }
+      }
+    }
+
+    @Override
+    public void cleanup() {}
+  }
+
+  private static Entity record(long index) {
+    return new Entity("key::" + index, index, null);
+  }
+
+  @Test
+  void storeIsBoundedAndCountsErrorClasses() {
+    DeadLetterStore store = new DeadLetterStore(2);
+    assertTrue(store.add(record(1), new TimeoutException()));
+    assertTrue(store.add(record(2), new IllegalStateException()));
+    assertFalse(store.add(record(3), new TimeoutException()));
+
+    assertEquals(2, store.size());
+    assertEquals(1, store.getOverflow());
+    assertEquals(List.of("key::1", "key::2"), store.getKeys());
+    assertEquals(Map.of("TimeoutException", 2L, "IllegalStateException", 1L), store.getErrorCounts());
+
+    assertEquals(2, store.drain().size());
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  void countsUnwrapGenericWrappers() {
+    DeadLetterStore store = new DeadLetterStore(10);
+    store.add(record(1), new RuntimeException("Failed to execute JSON.SET", new TimeoutException()));
+    store.add(record(2), new CompletionException(new RuntimeException("wrapped", new IllegalStateException())));
+    store.add(record(3), new RuntimeException("no cause"));
+    store.add(record(4), new IllegalArgumentException("specific", new TimeoutException()));
+
+    assertEquals(Map.of("TimeoutException", 1L, "IllegalStateException", 1L, "RuntimeException", 1L,
+        "IllegalArgumentException", 1L), store.getErrorCounts());
+  }
+
+  @Test
+  void redriveRewritesDeadLetteredRecords() {
+    FlakySink sink = new FlakySink();
+    List<Entity> batch = new ArrayList<>();
+    for (long i = 1; i <= 10; i++) {
+      batch.add(record(i));
+    }
+    sink.writeBatch(batch).toCompletableFuture().join();
+    assertEquals(5, sink.written.size());
+    assertEquals(5, sink.getDeadLetters().size());
+
+    sink.failing = false;
+    sink.redrive().toCompletableFuture().join();
+    assertEquals(10, sink.written.size());
+    assertEquals(0, sink.getDeadLetters().size());
+    assertEquals(Map.of("TimeoutException", 5L), sink.getDeadLetters().getErrorCounts());
+  }
+
+  @Test
+  void redriveKeepsRecordsThatFailAgain() {
+    FlakySink sink = new FlakySink();
+    List<Entity> batch = new ArrayList<>();
+    for (long i = 1; i <= 10; i++) {
+      batch.add(record(i));
+    }
+    sink.writeBatch(batch).toCompletableFuture().join();
+
+    sink.redrive().toCompletableFuture().join();
+    assertEquals(5, sink.written.size());
+    assertEquals(5, sink.getDeadLetters().size());
+    assertEquals(Map.of("TimeoutException", 10L), sink.getDeadLetters().getErrorCounts());
+  }
+
+  @Test
+  void failedRedriveRestoresRecords() {
+    FlakySink sink = new FlakySink();
+    List<Entity> batch = new ArrayList<>();
+    for (long i = 1; i <= 10; i++) {
+      batch.add(record(i));
+    }
+    sink.writeBatch(batch).toCompletableFuture().join();
+
+    sink.broken = true;
+    assertThrows(RuntimeException.class, () -> sink.redrive().toCompletableFuture().join());
+    assertEquals(List.of("key::2", "key::4", "key::6", "key::8", "key::10"), sink.getDeadLetters().getKeys());
+
+    sink.broken = false;
+    sink.failing = false;
+    sink.redrive().toCompletableFuture().join();
+    assertEquals(10, sink.written.size());
+    assertEquals(0, sink.getDeadLetters().size());
+  }
+}
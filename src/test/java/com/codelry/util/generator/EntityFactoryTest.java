@@ -0,0 +1,75 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.generator.EntityFactory;
+import com.codelry.util.generator.generator.EntityPlan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityFactoryTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static EntityPlan loadPlan() throws Exception {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    EntityCollection schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+    return EntityPlan.compile(schema.getEntities().get(0));
+  }
+
+  private static Set<Long> drain(EntityFactory factory, int maxBatch) throws InterruptedException {
+    Set<Long> indexes = new HashSet<>();
+    List<Entity> batch;
+    factory.start();
+    while ((batch = factory.nextBatch()) != null) {
+      assertTrue(batch.size() <= maxBatch);
+      for (Entity entity : batch) {
+        assertTrue(indexes.add(entity.getIndex()), "duplicate index " + entity.getIndex());
+      }
+    }
+    factory.stop();
+    return indexes;
+  }
+
+  @Test
+  void workersCoverRequestedRangeExactlyOnce() throws Exception {
+    EntityFactory factory = new EntityFactory(loadPlan(), 1, 2500, new SimpleMeterRegistry());
+    factory.setThreads(4);
+    factory.setBatchSize(100);
+
+    Set<Long> indexes = drain(factory, 100);
+    assertEquals(2500, indexes.size());
+    assertTrue(indexes.contains(1L));
+    assertTrue(indexes.contains(2500L));
+  }
+
+  @Test
+  void concurrentFactoriesKeepIndependentRanges() throws Exception {
+    EntityPlan plan = loadPlan();
+    EntityFactory first = new EntityFactory(plan, 1, 1000, new SimpleMeterRegistry());
+    EntityFactory second = new EntityFactory(plan, 5001, 1000, new SimpleMeterRegistry());
+
+    CompletableFuture<Set<Long>> firstRun = CompletableFuture.supplyAsync(() -> {
+      try {
+        return drain(first, 5000);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Set<Long> secondIndexes = drain(second, 5000);
+    Set<Long> firstIndexes = firstRun.get();
+
+    assertEquals(1000, firstIndexes.size());
+    assertEquals(1000, secondIndexes.size());
+    assertTrue(firstIndexes.stream().allMatch(index -> index >= 1 && index <= 1000));
+    assertTrue(secondIndexes.stream().allMatch(index -> index >= 5001 && index <= 6000));
+  }
+}
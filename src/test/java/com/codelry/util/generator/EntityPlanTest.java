@@ -0,0 +1,99 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.generator.EntityPlan;
+import com.codelry.util.generator.generator.EntityPlanCache;
+import com.codelry.util.generator.generator.ReferenceData;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityPlanTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static EntityCollection schema;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+  }
+
+  @Test
+  void compiledPlanGeneratesAllColumns() {
+    EntityDefinition definition = schema.getEntities().get(0);
+    EntityPlan plan = EntityPlan.compile(definition);
+
+    assertEquals(definition.getFields().size(), plan.getColumns().size());
+
+    Entity entity = plan.generate(42);
+    assertEquals(42, entity.getIndex());
+    assertEquals(definition.getFields().size(), entity.getFields().size());
+
+    Field id = entity.getFields().get(0);
+    assertEquals("id", id.getName());
+    assertEquals(42L, id.getValue());
+    for (Field field : entity.getFields()) {
+      assertNotNull(field.getValue(), field.getName());
+    }
+  }
+
+  @Test
+  void planDeclaresReferenceDataInUse() {
+    EntityPlan plan = EntityPlan.compile(schema.getEntities().get(0));
+    assertEquals(Set.of(ReferenceData.NAME), plan.getReferences());
+  }
+
+  @Test
+  void planCacheReusesEquivalentDefinitions() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    EntityCollection copy = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+
+    EntityPlan first = EntityPlanCache.get(schema.getEntities().get(0));
+    EntityPlan second = EntityPlanCache.get(copy.getEntities().get(0));
+    assertSame(first, second);
+  }
+
+  @Test
+  void sameSeedReproducesRecords() throws IOException {
+    String json = """
+        {
+          "id": "c5f0e1a2-0a7b-4c0e-9d55-2f6a1c3b9e10",
+          "name": "seeded",
+          "nosql": true,
+          "tables": [{
+            "id": "0b5e7d4c-3e2f-4a4b-8b59-6f1c2d3e4f50",
+            "name": "accounts",
+            "columns": [
+              { "id": "1", "name": "id", "type": "uuid" },
+              { "id": "2", "name": "name", "type": "fullName" },
+              { "id": "3", "name": "phone", "type": "phoneNumber" },
+              { "id": "4", "name": "card", "type": "creditCard" },
+              { "id": "5", "name": "ip", "type": "ipAddress" },
+              { "id": "6", "name": "opened", "type": "date" },
+              { "id": "7", "name": "notes", "type": "text" },
+              { "id": "8", "name": "balance", "type": "dollarAmount" }
+            ]
+          }]
+        }
+        """;
+    EntityPlan plan = EntityPlan.compile(MAPPER.readValue(json, EntityCollection.class).getEntities().get(0));
+
+    RandomStreams streams = new RandomStreams(1234L, 1_700_000_000_000L);
+    assertEquals(plan.generate(streams, 7).asJson(), plan.generate(streams, 7).asJson());
+    assertEquals(plan.generate(streams, 7).asJson(),
+        plan.generate(new RandomStreams(1234L, 1_700_000_000_000L), 7).asJson());
+    assertNotEquals(plan.generate(streams, 7).asJson(), plan.generate(streams, 8).asJson());
+    assertNotEquals(plan.generate(streams, 7).asJson(),
+        plan.generate(new RandomStreams(4321L, 1_700_000_000_000L), 7).asJson());
+  }
+}
@@ -0,0 +1,53 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.TypeMapping;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntitySerializerTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private Entity sample(String name) {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(TypeMapping.LONG, "id", 7L));
+    fields.add(new Field(TypeMapping.STRING, "name", name));
+    fields.add(new Field(TypeMapping.DOUBLE, "amount", 12.5));
+    fields.add(new Field(TypeMapping.BOOLEAN, "active", true));
+    fields.add(new Field(TypeMapping.STRING, "tags", List.of("a", "b")));
+    fields.add(new Field(TypeMapping.LOCAL_DATE_TIME, "created", new Date(0)));
+    return new Entity("accounts:7", fields);
+  }
+
+  @Test
+  void bytesMatchJsonTree() throws IOException {
+    Entity entity = sample("caf\u00e9 \"quoted\"");
+    byte[] bytes = entity.asBytes();
+
+    JsonNode parsed = MAPPER.readTree(bytes);
+    assertEquals(entity.asJson(), parsed);
+    assertEquals("caf\u00e9 \"quoted\"", parsed.get("name").asText());
+    assertEquals(7L, parsed.get("id").asLong());
+  }
+
+  @Test
+  void bufferIsResetBetweenRecords() {
+    byte[] first = sample("first").asBytes();
+    byte[] second = sample("second").asBytes();
+
+    assertTrue(new String(second, StandardCharsets.UTF_8).contains("\"second\""));
+    assertFalse(new String(second, StandardCharsets.UTF_8).contains("\"first\""));
+    assertNotEquals(0, first.length);
+  }
+}
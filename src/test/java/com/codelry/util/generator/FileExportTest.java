@@ -0,0 +1,141 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.FileExport;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.FieldDefinition;
+import com.codelry.util.generator.generator.EntitySerializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileExportTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static EntityCollection schema;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+  }
+
+  @Test
+  void writesConcatenatedGzipNdjson(@TempDir Path directory) throws IOException {
+    FileExport export = new FileExport(directory, FileExport.Format.NDJSON, FileExport.Compression.GZIP);
+    export.init(schema, 1, 1000);
+    export.setBatchSize(64);
+    export.setThreads(4);
+    export.prepare();
+    try {
+      export.generate();
+    } finally {
+      export.cleanup();
+    }
+
+    assertEquals(1, export.getFiles().size());
+    Path file = export.getFiles().get(0);
+    assertTrue(file.getFileName().toString().endsWith(".ndjson.gz"));
+
+    Set<Long> ids = new HashSet<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        JsonNode node = MAPPER.readTree(line);
+        ids.add(node.get("id").asLong());
+      }
+    }
+    assertEquals(1000, ids.size());
+    assertTrue(ids.contains(1L));
+    assertTrue(ids.contains(1000L));
+  }
+
+  @Test
+  void writesCsvWithSchemaHeaders(@TempDir Path directory) throws IOException {
+    FileExport export = new FileExport(directory, FileExport.Format.CSV, FileExport.Compression.NONE);
+    export.init(schema, 1, 500);
+    export.setBatchSize(50);
+    export.prepare();
+    try {
+      export.generate();
+    } finally {
+      export.cleanup();
+    }
+
+    List<String> headers = schema.getEntities().get(0).getFields().stream().map(FieldDefinition::getName).toList();
+    try (CSVParser parser = CSVParser.parse(export.getFiles().get(0), StandardCharsets.UTF_8,
+        CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
+      assertEquals(headers, parser.getHeaderNames());
+      List<CSVRecord> records = parser.getRecords();
+      assertEquals(500, records.size());
+      for (CSVRecord record : records) {
+        assertEquals(headers.size(), record.size());
+      }
+    }
+  }
+
+  private static Path export(Path directory, FileExport.Format format, EntityCollection events) {
+    FileExport export = new FileExport(directory, format, FileExport.Compression.NONE);
+    export.init(events, 1, 20);
+    export.prepare();
+    try {
+      export.generate();
+    } finally {
+      export.cleanup();
+    }
+    return export.getFiles().get(0);
+  }
+
+  @Test
+  void csvAndNdjsonFormatTimestampsAlike(@TempDir Path directory) throws IOException {
+    long epoch = 1700000000000L;
+    EntityCollection events = MAPPER.readValue("""
+        {
+          "name": "events",
+          "epoch": %d,
+          "tables": [{
+            "id": "events",
+            "name": "events",
+            "columns": [
+              {"id": "id", "name": "id", "type": "sequentialNumber", "primaryKey": true},
+              {"id": "created", "name": "created", "type": "timestamp"}
+            ],
+            "keyFormat": "{{ __table__ }}:{{ id }}",
+            "count": 20
+          }]
+        }
+        """.formatted(epoch), EntityCollection.class);
+    String expected = EntitySerializer.formatDate(new Date(epoch));
+
+    for (String line : Files.readAllLines(export(directory.resolve("ndjson"), FileExport.Format.NDJSON, events))) {
+      assertEquals(expected, MAPPER.readTree(line).get("created").asText());
+    }
+    try (CSVParser parser = CSVParser.parse(export(directory.resolve("csv"), FileExport.Format.CSV, events),
+        StandardCharsets.UTF_8, CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
+      List<CSVRecord> records = parser.getRecords();
+      assertEquals(20, records.size());
+      for (CSVRecord record : records) {
+        assertEquals(expected, record.get("created"));
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.HashEncoder;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.TypeMapping;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashEncoderTest {
+
+  private static List<byte[]> decode(CommandArgs<byte[], byte[]> args) {
+    ByteBuf buffer = Unpooled.buffer();
+    args.encode(buffer);
+    List<byte[]> values = new ArrayList<>();
+    while (buffer.isReadable()) {
+      assertEquals('$', buffer.readByte());
+      StringBuilder length = new StringBuilder();
+      byte b;
+      while ((b = buffer.readByte()) != '\r') {
+        length.append((char) b);
+      }
+      buffer.readByte();
+      byte[] value = new byte[Integer.parseInt(length.toString())];
+      buffer.readBytes(value);
+      buffer.skipBytes(2);
+      values.add(value);
+    }
+    return values;
+  }
+
+  @Test
+  void encodesFieldsLikeStringMap() {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(TypeMapping.LONG, "id", 42L));
+    fields.add(new Field(TypeMapping.STRING, "name", "Zo\u00eb"));
+    fields.add(new Field(TypeMapping.DOUBLE, "amount", 12.5));
+    Entity entity = new Entity("customer:42", fields);
+
+    List<byte[]> encoded = decode(HashEncoder.appendFields(
+        new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(HashEncoder.key(entity.getId())), entity));
+
+    assertEquals("customer:42", new String(encoded.get(0), StandardCharsets.UTF_8));
+    Map<String, String> expected = entity.asMap();
+    assertEquals(expected.size() * 2 + 1, encoded.size());
+    for (int i = 1; i < encoded.size(); i += 2) {
+      String name = new String(encoded.get(i), StandardCharsets.UTF_8);
+      assertEquals(expected.get(name), new String(encoded.get(i + 1), StandardCharsets.UTF_8), name);
+    }
+    assertSame(HashEncoder.name("id"), HashEncoder.name("id"));
+  }
+
+  @Test
+  void carriesBinaryValues() {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(TypeMapping.STRING, "blob", new byte[]{0, (byte) 0xff, 10, 13}));
+    fields.add(new Field(TypeMapping.STRING, "embedding", new float[]{1.0f, -2.5f}));
+    Entity entity = new Entity("doc:1", fields);
+
+    List<byte[]> encoded = decode(HashEncoder.appendFields(
+        new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(HashEncoder.key(entity.getId())), entity));
+
+    assertArrayEquals(new byte[]{0, (byte) 0xff, 10, 13}, encoded.get(2));
+    assertArrayEquals(HashEncoder.vector(new float[]{1.0f, -2.5f}), encoded.get(4));
+    assertEquals(8, encoded.get(4).length);
+  }
+}
@@ -0,0 +1,96 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.Jdbc;
+import com.codelry.util.generator.driver.JdbcDialect;
+import com.codelry.util.generator.driver.PostgresDialect;
+import com.codelry.util.generator.driver.SqliteDialect;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.EntityDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcLoadTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static EntityCollection schema;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+  }
+
+  @Test
+  void generatesDdlFromFieldDefinitions() {
+    EntityDefinition definition = schema.getEntities().get(0);
+    String ddl = new PostgresDialect().createTable(definition.getTableName(), definition.getFields());
+
+    assertTrue(ddl.startsWith("CREATE TABLE IF NOT EXISTS \"customers\" ("), ddl);
+    assertTrue(ddl.contains("\"id\" BIGINT NOT NULL"), ddl);
+    assertTrue(ddl.contains("\"first_name\" VARCHAR("), ddl);
+    assertTrue(ddl.endsWith("PRIMARY KEY (\"id\"))"), ddl);
+    assertEquals("INSERT INTO \"customers\" (\"id\", \"first_name\", \"last_name\", \"email\") VALUES (?, ?, ?, ?)",
+        new JdbcDialect().insert(definition.getTableName(), definition.getFields()));
+  }
+
+  @Test
+  void loadsRowsIntoSqlite(@TempDir Path directory) throws SQLException {
+    String url = "jdbc:sqlite:" + directory.resolve("load.db");
+    Jdbc driver = new Jdbc(url, new Properties());
+    driver.init(schema, 1, 2500);
+    driver.setBatchSize(400);
+    driver.setTransactionSize(300);
+    driver.setStatementBatchSize(128);
+    driver.prepare();
+    try {
+      assertInstanceOf(SqliteDialect.class, driver.getDialect());
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+
+    try (Connection connection = DriverManager.getConnection(url);
+         Statement statement = connection.createStatement();
+         ResultSet result = statement.executeQuery("SELECT COUNT(*), MIN(id), MAX(id) FROM customers")) {
+      assertTrue(result.next());
+      assertEquals(2500, result.getLong(1));
+      assertEquals(1, result.getLong(2));
+      assertEquals(2500, result.getLong(3));
+    }
+  }
+
+  @Test
+  void carriesTransactionsAcrossBatches(@TempDir Path directory) throws SQLException {
+    String url = "jdbc:sqlite:" + directory.resolve("carry.db");
+    Jdbc driver = new Jdbc(url, new Properties());
+    driver.init(schema, 1, 1050);
+    driver.setBatchSize(100);
+    driver.setTransactionSize(1000);
+    driver.prepare();
+    try {
+      driver.generate();
+      try (Connection connection = DriverManager.getConnection(url);
+           Statement statement = connection.createStatement();
+           ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM customers")) {
+        assertTrue(result.next());
+        assertEquals(1050, result.getLong(1));
+      }
+    } finally {
+      driver.cleanup();
+    }
+    assertEquals(0, driver.getDeadLetters().size());
+  }
+}
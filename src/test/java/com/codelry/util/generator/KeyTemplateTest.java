@@ -0,0 +1,74 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.TypeMapping;
+import com.codelry.util.generator.generator.KeyGenerator;
+import com.codelry.util.generator.generator.KeyTemplate;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyTemplateTest {
+
+  private Entity sample() {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(TypeMapping.LONG, "id", 42L));
+    fields.add(new Field(TypeMapping.STRING, "email", "jane@example.com"));
+    Entity entity = new Entity(null, fields);
+    entity.setIndex(42);
+    return entity;
+  }
+
+  @Test
+  void compiledKeysMatchJinjava() {
+    List<String> formats = List.of(
+        "{{ __table__ }}:{{ id }}",
+        "{{__table__}}::{{ id|zero_pad(8) }}",
+        "{{ __table__ }}:{{ __index__ | zero_pad }}",
+        "user-{{ email }}-{{ missing }}",
+        "{{ __table__ }}:{{ __uuid__ }}",
+        "{{ __table__ | hash_tag }}:{{ id | zero_pad(6) }}",
+        "{{ __table__ }}:{{ id | zero_pad(6) | hash_tag }}",
+        "static-key");
+    RandomStreams streams = new RandomStreams(99L, 0L);
+    Entity entity = sample();
+    for (String format : formats) {
+      assertNotNull(KeyTemplate.compile(format), format);
+      KeyGenerator generator = new KeyGenerator("customers", format, new SimpleMeterRegistry());
+      generator.setRandomStreams(streams);
+      assertEquals(generator.renderTemplate(entity), generator.render(entity), format);
+    }
+  }
+
+  @Test
+  void unsupportedTemplatesFallBack() {
+    assertNull(KeyTemplate.compile("{% if id %}{{ id }}{% endif %}"));
+    assertNull(KeyTemplate.compile("{{ email | upper }}"));
+    assertNull(KeyTemplate.compile("{{ id + 1 }}"));
+    assertNull(KeyTemplate.compile("{{ id"));
+
+    KeyGenerator generator = new KeyGenerator("customers", "{{ email | upper }}", new SimpleMeterRegistry());
+    assertEquals("JANE@EXAMPLE.COM", generator.render(sample()));
+  }
+
+  @Test
+  void hashTagWrapsRelatedKeysIntoOneSlot() {
+    assertEquals("{{ id | hash_tag }}:{{ __index__ }}",
+        KeyTemplate.applyHashTag("{{ id }}:{{ __index__ }}", "id"));
+    assertEquals("{{ __table__ }}:{{ id | zero_pad(6) | hash_tag }}",
+        KeyTemplate.applyHashTag("{{ __table__ }}:{{ id | zero_pad(6) }}", "id"));
+    assertEquals("{{ email | hash_tag }}:{{ id }}",
+        KeyTemplate.applyHashTag("{{ id }}", "email"));
+    assertEquals("{{ id }}", KeyTemplate.applyHashTag("{{ id }}", null));
+
+    KeyGenerator generator = new KeyGenerator("customers",
+        KeyTemplate.applyHashTag("{{ __table__ }}:{{ id }}", "__table__"), new SimpleMeterRegistry());
+    assertEquals("{customers}:42", generator.render(sample()));
+  }
+}
@@ -0,0 +1,124 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.generator.*;
+import com.codelry.util.generator.randomizer.RandomStreams;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyspaceLoadTest {
+
+  static class CollectingSink extends EntityLoad {
+    private final List<Entity> records = new ArrayList<>();
+
+    @Override
+    public void prepare() {}
+
+    @Override
+    public void insertBatch(List<Entity> batch) {
+      records.addAll(batch);
+    }
+
+    @Override
+    public void cleanup() {}
+  }
+
+  @Test
+  void idStrategiesResolveWithoutJinjava() {
+    assertEquals(DocumentIdType.INDEX, DocumentIdType.resolve("{{ index(6) }}"));
+    assertEquals(6, DocumentIdType.indexPadding("{{ index(6) }}"));
+    assertEquals(DocumentIdType.RANDOM_UUID, DocumentIdType.resolve("{{ random_uuid() }}"));
+    assertEquals(DocumentIdType.MD5_HASH, DocumentIdType.resolve("md5_hash"));
+    assertEquals(DocumentIdType.PATTERN, DocumentIdType.resolve("order::{{ INDEX }}"));
+  }
+
+  @Test
+  void loadsKeyspacesInParallel() {
+    Map<String, CollectingSink> sinks = new HashMap<>();
+    KeyspaceLoad load = new KeyspaceLoad(
+        keyspace -> sinks.computeIfAbsent(keyspace.getCollection(), name -> new CollectingSink()),
+        new SimpleMeterRegistry());
+    load.setThreads(4);
+    load.setBatchSize(50);
+
+    long loaded = load.load(new Schema("orders", 500), null);
+    assertEquals(1000, loaded);
+
+    List<Entity> orders = sinks.get("orders").records;
+    assertEquals(500, orders.size());
+    Set<String> ids = new HashSet<>();
+    for (Entity order : orders) {
+      assertTrue(ids.add(order.getId()));
+      assertEquals(String.format("%06d", order.getIndex()), order.getId());
+      assertEquals(String.valueOf(order.getIndex()), order.getDocument().get("order_id").asText());
+      assertFalse(order.asMap().get("customer").isEmpty());
+    }
+
+    for (Entity customer : sinks.get("customers").records) {
+      String email = customer.getDocument().get("email").asText();
+      assertEquals("customer::" + email + "::" + customer.getIndex(), customer.getId());
+    }
+  }
+
+  @Test
+  void loadsKeyspacesFromRequestBody() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    List<JsonNode> definitions = new ObjectMapper().readValue(
+        loader.getResourceAsStream("schema/orders.json"), new TypeReference<List<JsonNode>>() {});
+    Schema schema = new Schema(definitions, 11, 60);
+    assertEquals(List.of("data.sales.orders", "data.sales.customers"), schema.getKeyspaceList());
+
+    Map<String, CollectingSink> sinks = new HashMap<>();
+    KeyspaceLoad load = new KeyspaceLoad(
+        keyspace -> sinks.computeIfAbsent(keyspace.getCollection(), name -> new CollectingSink()),
+        new SimpleMeterRegistry());
+    load.setBatchSize(20);
+
+    assertEquals(100, load.load(schema, null));
+    LongSummaryStatistics indexes = sinks.get("orders").records.stream().mapToLong(Entity::getIndex).summaryStatistics();
+    assertEquals(11, indexes.getMin());
+    assertEquals(60, indexes.getMax());
+  }
+
+  private static Map<String, CollectingSink> loadSeeded(long seed) {
+    Map<String, CollectingSink> sinks = new HashMap<>();
+    KeyspaceLoad load = new KeyspaceLoad(
+        keyspace -> sinks.computeIfAbsent(keyspace.getCollection(), name -> new CollectingSink()),
+        new SimpleMeterRegistry());
+    load.setThreads(4);
+    load.setBatchSize(25);
+    load.setRandomStreams(new RandomStreams(seed, 1700000000000L));
+    load.setKeyPrefix(keyspace -> keyspace.getCollection() + ":");
+    load.load(new Schema("orders", 100), null);
+    return sinks;
+  }
+
+  @Test
+  void sameSeedRendersSameDocuments() {
+    Map<String, CollectingSink> first = loadSeeded(42);
+    Map<String, CollectingSink> second = loadSeeded(42);
+    for (String collection : List.of("orders", "customers")) {
+      Map<Long, Entity> expected = new HashMap<>();
+      first.get(collection).records.forEach(record -> expected.put(record.getIndex(), record));
+      assertEquals(100, second.get(collection).records.size());
+      for (Entity record : second.get(collection).records) {
+        assertTrue(record.getId().startsWith(collection + ":"));
+        assertEquals(expected.get(record.getIndex()).getId(), record.getId());
+        assertEquals(expected.get(record.getIndex()).getDocument(), record.getDocument());
+      }
+    }
+
+    Map<Long, JsonNode> reseeded = new HashMap<>();
+    loadSeeded(7).get("orders").records.forEach(record -> reseeded.put(record.getIndex(), record.getDocument()));
+    assertTrue(first.get("orders").records.stream()
+        .anyMatch(record -> !record.getDocument().equals(reseeded.get(record.getIndex()))));
+  }
+}
@@ -0,0 +1,63 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.NdjsonStream;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonStreamTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static EntityCollection schema;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+  }
+
+  @Test
+  void streamsOneRecordPerLine() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    NdjsonStream driver = new NdjsonStream(out);
+    driver.init(schema, 1, 750);
+    driver.setBatchSize(100);
+    driver.generate();
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(750, lines.length);
+    assertEquals(750, driver.getWritten());
+    for (String line : lines) {
+      assertTrue(MAPPER.readTree(line).has("id"));
+    }
+  }
+
+  @Test
+  void stopsWhenClientCloses() {
+    OutputStream closing = new OutputStream() {
+      private long bytes;
+
+      @Override
+      public void write(int b) throws IOException {
+        if (++bytes > 4096) {
+          throw new IOException("Broken pipe");
+        }
+      }
+    };
+    NdjsonStream driver = new NdjsonStream(closing);
+    driver.init(schema, 1, 100000);
+    driver.setBatchSize(100);
+
+    assertThrows(RuntimeException.class, driver::generate);
+    assertTrue(driver.isClosed());
+    assertTrue(driver.getWritten() < 100000);
+  }
+}
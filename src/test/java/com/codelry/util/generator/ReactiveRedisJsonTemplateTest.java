@@ -0,0 +1,114 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.Redis;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.RedisConnectionConfig;
+import com.codelry.util.generator.service.ReactiveRedisJsonTemplate;
+import com.codelry.util.generator.service.RedisConnectionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class ReactiveRedisJsonTemplateTest {
+
+  @Container
+  private static final GenericContainer<?> REDIS =
+      new GenericContainer<>(DockerImageName.parse("redis/redis-stack-server:7.4.0-v3")).withExposedPorts(6379);
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String USER = "json-template-test";
+  private static EntityCollection schema;
+  private static ClientResources resources;
+  private static RedisConnectionManager manager;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+    resources = DefaultClientResources.create();
+    manager = new RedisConnectionManager(resources);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    manager.disconnect(USER);
+    resources.shutdown();
+  }
+
+  @BeforeEach
+  void connect() throws Exception {
+    RedisConnectionConfig config = new RedisConnectionConfig();
+    config.setHost(REDIS.getHost());
+    config.setPort(REDIS.getMappedPort(6379));
+    config.setUseJson(true);
+    config.setJsonConnections(3);
+    config.setJsonDispatch("least-pending");
+    manager.connect(USER, config);
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      connection.sync().flushall();
+    }
+  }
+
+  private static void load(long start, long count) {
+    Redis driver = new Redis();
+    driver.init(schema, start, count, new SimpleMeterRegistry());
+    driver.connect(manager.reactiveRedisTemplate(USER), manager.reactiveRedisJsonTemplate(USER));
+    driver.setUseJson(true);
+    driver.setBatchSize(100);
+    try {
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+    assertEquals(0, driver.getDeadLetters().size());
+  }
+
+  @Test
+  void templateIsSharedAcrossJobs() {
+    ReactiveRedisJsonTemplate<String, String> template = manager.reactiveRedisJsonTemplate(USER);
+    assertEquals(3, template.getConnectionCount());
+    assertEquals(ReactiveRedisJsonTemplate.Dispatch.LEAST_PENDING, template.getDispatch());
+
+    load(1, 300);
+    assertSame(template, manager.reactiveRedisJsonTemplate(USER));
+    assertFalse(template.isClosed());
+    load(301, 300);
+
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      assertEquals(600, connection.sync().dbsize());
+    }
+    for (int shard = 0; shard < template.getConnectionCount(); shard++) {
+      assertEquals(0, template.getPending(shard));
+    }
+  }
+
+  @Test
+  void disconnectClosesTemplate() throws Exception {
+    ReactiveRedisJsonTemplate<String, String> template = manager.reactiveRedisJsonTemplate(USER);
+    assertTrue(template.jsonSetRaw("doc:1", "$", "{\"id\":1}".getBytes()).block());
+
+    manager.disconnect(USER);
+    assertTrue(template.isClosed());
+    assertThrows(RuntimeException.class, () -> template.jsonSetRaw("doc:2", "$", "{\"id\":2}".getBytes()).block());
+
+    connect();
+    ReactiveRedisJsonTemplate<String, String> reopened = manager.reactiveRedisJsonTemplate(USER);
+    assertNotSame(template, reopened);
+    assertTrue(reopened.jsonSetRaw("doc:2", "$", "{\"id\":2}".getBytes()).block());
+  }
+}
@@ -0,0 +1,58 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.data.FieldTable;
+import com.codelry.util.generator.data.GeneratedRecord;
+import com.codelry.util.generator.data.RecordValue;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.Field;
+import com.codelry.util.generator.dto.TypeMapping;
+import com.codelry.util.generator.service.RecordBatchEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordBatchEncoderTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  void fieldTableFollowsDefinitionOrder() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    EntityCollection schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+
+    FieldTable table = RecordBatchEncoder.fieldTable(schema.getEntities().get(0));
+    assertEquals("customers", table.getEntity());
+    assertEquals(List.of("id", "first_name", "last_name", "email"), table.getNamesList());
+  }
+
+  @Test
+  void encodesTypedValues() {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field(TypeMapping.LONG, "id", 7L));
+    fields.add(new Field(TypeMapping.DOUBLE, "amount", 19.99));
+    fields.add(new Field(TypeMapping.BOOLEAN, "active", true));
+    fields.add(new Field(TypeMapping.LOCAL_DATE_TIME, "created", new Date(1_700_000_000_000L)));
+    fields.add(new Field(TypeMapping.STRING, "name", "Ada"));
+    Entity entity = new Entity("customers:7", fields);
+    entity.setIndex(7);
+
+    GeneratedRecord record = RecordBatchEncoder.encode(entity,
+        List.of("id", "amount", "active", "created", "name", "missing"));
+
+    assertEquals("customers:7", record.getId());
+    assertEquals(7, record.getIndex());
+    assertEquals(7L, record.getValues(0).getLongValue());
+    assertEquals(19.99, record.getValues(1).getDoubleValue());
+    assertTrue(record.getValues(2).getBoolValue());
+    assertEquals(1_700_000_000_000L, record.getValues(3).getTimestampValue());
+    assertEquals("Ada", record.getValues(4).getStringValue());
+    assertEquals(RecordValue.KindCase.NULLVALUE, record.getValues(5).getKindCase());
+  }
+}
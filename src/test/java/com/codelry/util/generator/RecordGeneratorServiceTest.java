@@ -0,0 +1,96 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.data.GenerateRecordsRequest;
+import com.codelry.util.generator.data.RecordBatch;
+import com.codelry.util.generator.service.RecordGeneratorService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordGeneratorServiceTest {
+
+  static class BlockedObserver extends ServerCallStreamObserver<RecordBatch> {
+    private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+    private final CompletableFuture<Void> completed = new CompletableFuture<>();
+    private volatile Runnable onCancel;
+
+    void cancel() {
+      onCancel.run();
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+      this.onCancel = onCancelHandler;
+    }
+
+    @Override
+    public void setCompression(String compression) {}
+
+    @Override
+    public boolean isReady() {
+      return false;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {}
+
+    @Override
+    public void disableAutoInboundFlowControl() {}
+
+    @Override
+    public void request(int count) {}
+
+    @Override
+    public void setMessageCompression(boolean enable) {}
+
+    @Override
+    public void onNext(RecordBatch value) {}
+
+    @Override
+    public void onError(Throwable t) {
+      error.complete(t);
+    }
+
+    @Override
+    public void onCompleted() {
+      completed.complete(null);
+    }
+  }
+
+  private static GenerateRecordsRequest request() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    String schema = new String(loader.getResourceAsStream("schema.json").readAllBytes(), StandardCharsets.UTF_8);
+    return GenerateRecordsRequest.newBuilder().setSchema(schema).setCount(100).build();
+  }
+
+  @Test
+  void rejectsStreamsBeyondLimit() throws Exception {
+    RecordGeneratorService service = new RecordGeneratorService(new SimpleMeterRegistry(), 1);
+    BlockedObserver first = new BlockedObserver();
+    BlockedObserver second = new BlockedObserver();
+    try {
+      service.generate(request(), first);
+      service.generate(request(), second);
+
+      Throwable error = second.error.get(5, TimeUnit.SECONDS);
+      assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(error).getCode());
+      assertFalse(first.error.isDone());
+    } finally {
+      first.cancel();
+      service.shutdown();
+    }
+  }
+}
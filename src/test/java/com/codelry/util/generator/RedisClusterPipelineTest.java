@@ -0,0 +1,165 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.HashEncoder;
+import com.codelry.util.generator.driver.RedisClusterPipeline;
+import com.codelry.util.generator.driver.RedisPipeline;
+import com.codelry.util.generator.dto.Entity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.models.partitions.Partitions;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.internal.HostAndPort;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.resource.DnsResolvers;
+import io.lettuce.core.resource.MappingSocketAddressResolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisClusterPipelineTest {
+
+  private static final int FIRST_PORT = 7000;
+  private static final int LAST_PORT = 7005;
+
+  @Container
+  private static final GenericContainer<?> CLUSTER =
+      new GenericContainer<>(DockerImageName.parse("grokzen/redis-cluster:7.0.10"))
+          .withExposedPorts(7000, 7001, 7002, 7003, 7004, 7005);
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final RedisPipeline.Command HSET = (commands, record) ->
+      commands.dispatch(CommandType.HSET, new IntegerOutput<>(StringCodec.UTF8),
+          HashEncoder.appendFields(new CommandArgs<>(StringCodec.UTF8).addKey(record.getId()), record));
+  private static ClientResources resources;
+  private static RedisClusterClient client;
+  private static StatefulRedisClusterConnection<String, String> connection;
+
+  @BeforeAll
+  static void setUp() throws InterruptedException {
+    resources = DefaultClientResources.builder()
+        .socketAddressResolver(MappingSocketAddressResolver.create(DnsResolvers.UNRESOLVED, address ->
+            address.getPort() >= FIRST_PORT && address.getPort() <= LAST_PORT
+                ? HostAndPort.of(CLUSTER.getHost(), CLUSTER.getMappedPort(address.getPort()))
+                : address))
+        .build();
+    client = RedisClusterClient.create(resources, RedisURI.create(CLUSTER.getHost(), CLUSTER.getMappedPort(FIRST_PORT)));
+    long deadline = System.currentTimeMillis() + 60000;
+    while (connection == null) {
+      try {
+        StatefulRedisClusterConnection<String, String> candidate = client.connect();
+        if (candidate.sync().clusterInfo().contains("cluster_state:ok")) {
+          client.refreshPartitions();
+          connection = candidate;
+        } else {
+          candidate.close();
+        }
+      } catch (RedisException e) {
+        if (System.currentTimeMillis() > deadline) {
+          throw e;
+        }
+      }
+      if (connection == null) {
+        assertTrue(System.currentTimeMillis() < deadline, "Cluster did not become ready");
+        Thread.sleep(500);
+      }
+    }
+  }
+
+  @AfterAll
+  static void tearDown() {
+    if (connection != null) {
+      connection.close();
+    }
+    client.shutdown();
+    resources.shutdown();
+  }
+
+  @AfterEach
+  void flush() {
+    for (RedisClusterNode node : masters()) {
+      connection.getConnection(node.getNodeId()).sync().flushall();
+    }
+  }
+
+  private static List<RedisClusterNode> masters() {
+    List<RedisClusterNode> masters = new ArrayList<>();
+    for (RedisClusterNode node : connection.getPartitions()) {
+      if (node.is(RedisClusterNode.NodeFlag.UPSTREAM)) {
+        masters.add(node);
+      }
+    }
+    return masters;
+  }
+
+  private static List<Entity> records(String prefix, int count) {
+    List<Entity> records = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      records.add(new Entity(prefix + i, i, MAPPER.createObjectNode().put("id", i).put("name", "name-" + i)));
+    }
+    return records;
+  }
+
+  private static long keysOn(RedisClusterNode node) {
+    return connection.getConnection(node.getNodeId()).sync().dbsize();
+  }
+
+  @Test
+  void writesEachKeyToTheNodeOwningItsSlot() {
+    List<Entity> records = records("customers:", 600);
+    try (RedisClusterPipeline pipeline = new RedisClusterPipeline(client, 2, 50)) {
+      assertEquals(List.of(), pipeline.write(records, HSET).join());
+    }
+
+    Partitions partitions = connection.getPartitions();
+    Set<String> used = new HashSet<>();
+    long total = 0;
+    for (Entity record : records) {
+      RedisClusterNode owner = partitions.getMasterBySlot(SlotHash.getSlot(record.getId()));
+      used.add(owner.getNodeId());
+      assertEquals(String.valueOf(record.getIndex()),
+          connection.getConnection(owner.getNodeId()).sync().hget(record.getId(), "id"));
+    }
+    for (RedisClusterNode node : masters()) {
+      total += keysOn(node);
+    }
+    assertEquals(records.size(), total);
+    assertEquals(masters().size(), used.size());
+  }
+
+  @Test
+  void keepsHashTaggedKeysInOneSlot() {
+    List<Entity> records = records("{order:7}:line:", 200);
+    try (RedisClusterPipeline pipeline = new RedisClusterPipeline(client, 2, 50)) {
+      assertEquals(List.of(), pipeline.write(records, HSET).join());
+    }
+
+    int slot = SlotHash.getSlot("order:7");
+    for (Entity record : records) {
+      assertEquals(slot, SlotHash.getSlot(record.getId()));
+    }
+    RedisClusterNode owner = connection.getPartitions().getMasterBySlot(slot);
+    assertEquals(records.size(), connection.getConnection(owner.getNodeId()).sync().clusterCountKeysInSlot(slot));
+    for (RedisClusterNode node : masters()) {
+      assertEquals(node.getNodeId().equals(owner.getNodeId()) ? records.size() : 0, keysOn(node));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.Redis;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.RedisConnectionConfig;
+import com.codelry.util.generator.service.RedisConnectionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisJsonMSetTest {
+
+  @Container
+  private static final GenericContainer<?> CURRENT =
+      new GenericContainer<>(DockerImageName.parse("redis/redis-stack-server:7.4.0-v3")).withExposedPorts(6379);
+
+  @Container
+  private static final GenericContainer<?> LEGACY =
+      new GenericContainer<>(DockerImageName.parse("redis/redis-stack-server:6.2.6-v9")).withExposedPorts(6379);
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String USER = "mset-test";
+  private static final int RECORDS = 1000;
+  private static EntityCollection schema;
+  private static ClientResources resources;
+  private static RedisConnectionManager manager;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+    resources = DefaultClientResources.create();
+    manager = new RedisConnectionManager(resources);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    resources.shutdown();
+  }
+
+  @AfterEach
+  void disconnect() {
+    manager.disconnect(USER);
+  }
+
+  private static Redis load(GenericContainer<?> redis) throws Exception {
+    RedisConnectionConfig config = new RedisConnectionConfig();
+    config.setHost(redis.getHost());
+    config.setPort(redis.getMappedPort(6379));
+    config.setUseJson(true);
+    manager.connect(USER, config);
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      connection.sync().flushall();
+    }
+
+    Redis driver = new Redis();
+    driver.init(schema, 1, RECORDS, new SimpleMeterRegistry());
+    driver.connect(manager.reactiveRedisTemplate(USER), manager.reactiveRedisJsonTemplate(USER));
+    driver.setUseJson(true);
+    driver.setJsonMSetSize(64);
+    driver.setBatchSize(250);
+    try {
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+    return driver;
+  }
+
+  private static void assertLoaded() throws IOException {
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      assertEquals(RECORDS, connection.sync().dbsize());
+    }
+    for (long id : new long[] {1, 500, RECORDS}) {
+      String json = manager.reactiveRedisJsonTemplate(USER).jsonGetRaw("customers:" + id, "$").block();
+      assertEquals(id, MAPPER.readTree(json).get(0).get("id").asLong());
+    }
+  }
+
+  @Test
+  void writesGroupsWithJsonMSet() throws Exception {
+    Redis driver = load(CURRENT);
+    assertTrue(driver.isJsonMSetSupported());
+    assertEquals(0, driver.getDeadLetters().size());
+    assertLoaded();
+  }
+
+  @Test
+  void fallsBackToJsonSetWithoutLosingRecords() throws Exception {
+    Redis driver = load(LEGACY);
+    assertFalse(driver.isJsonMSetSupported());
+    assertEquals(0, driver.getDeadLetters().size());
+    assertLoaded();
+  }
+}
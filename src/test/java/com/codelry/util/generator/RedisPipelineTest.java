@@ -0,0 +1,183 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.driver.Redis;
+import com.codelry.util.generator.driver.RedisPipeline;
+import com.codelry.util.generator.dto.Entity;
+import com.codelry.util.generator.dto.EntityCollection;
+import com.codelry.util.generator.dto.RedisConnectionConfig;
+import com.codelry.util.generator.service.RedisConnectionManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisPipelineTest {
+
+  @Container
+  private static final GenericContainer<?> REDIS =
+      new GenericContainer<>(DockerImageName.parse("redis/redis-stack-server:7.4.0-v3")).withExposedPorts(6379);
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String USER = "pipeline-test";
+  private static final int RECORDS = 1000;
+  private static EntityCollection schema;
+  private static ClientResources resources;
+  private static RedisConnectionManager manager;
+
+  static class FailingPipeline extends RedisPipeline {
+    private final RedisPipeline delegate;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicInteger pipelined = new AtomicInteger();
+
+    FailingPipeline(RedisPipeline delegate) {
+      super(delegate.getCommandBatchSize());
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<List<Entity>> write(List<Entity> batch, Command command) {
+      peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+      List<Entity> odd = new ArrayList<>();
+      List<Entity> even = new ArrayList<>();
+      for (Entity record : batch) {
+        (record.getIndex() % 2 == 0 ? even : odd).add(record);
+      }
+      pipelined.addAndGet(odd.size());
+      return delegate.write(odd, command).thenApply(failed -> {
+        List<Entity> result = new ArrayList<>(failed);
+        result.addAll(even);
+        return result;
+      }).whenComplete((result, error) -> active.decrementAndGet());
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    schema = MAPPER.readValue(loader.getResourceAsStream("schema.json"), EntityCollection.class);
+    resources = DefaultClientResources.create();
+    manager = new RedisConnectionManager(resources);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    manager.disconnect(USER);
+    resources.shutdown();
+  }
+
+  @AfterEach
+  void flush() {
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      connection.sync().flushall();
+    }
+  }
+
+  private static void connect(boolean useJson) throws Exception {
+    RedisConnectionConfig config = new RedisConnectionConfig();
+    config.setHost(REDIS.getHost());
+    config.setPort(REDIS.getMappedPort(6379));
+    config.setUseJson(useJson);
+    manager.connect(USER, config);
+  }
+
+  private static Redis driver(boolean useJson, RedisPipeline pipeline) {
+    Redis driver = new Redis();
+    driver.init(schema, 1, RECORDS, new SimpleMeterRegistry());
+    driver.connect(manager.reactiveRedisTemplate(USER), manager.reactiveRedisJsonTemplate(USER));
+    driver.setUseJson(useJson);
+    driver.setPipeline(pipeline);
+    driver.setBatchSize(250);
+    return driver;
+  }
+
+  private static RedisPipeline pipeline() {
+    return new RedisPipeline(manager.getConnectionPool(USER), 2, 100);
+  }
+
+  @Test
+  void pipelinesHashWrites() throws Exception {
+    connect(false);
+    Redis driver = driver(false, pipeline());
+    try {
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      assertEquals(RECORDS, connection.sync().dbsize());
+      Map<String, String> hash = connection.sync().hgetall("customers:42");
+      assertEquals("42", hash.get("id"));
+      assertNotNull(hash.get("email"));
+    }
+    assertEquals(0, driver.getDeadLetters().size());
+    assertEquals(0, driver.getLimiter().getInFlight());
+  }
+
+  @Test
+  void pipelinesJsonWrites() throws Exception {
+    connect(true);
+    Redis driver = driver(true, pipeline());
+    try {
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      assertEquals(RECORDS, connection.sync().dbsize());
+      assertEquals("ReJSON-RL", connection.sync().type("customers:42"));
+    }
+    JsonNode document = MAPPER.readTree(manager.reactiveRedisJsonTemplate(USER).jsonGetRaw("customers:42", "$").block());
+    assertEquals(42, document.get(0).get("id").asLong());
+    assertEquals(0, driver.getDeadLetters().size());
+  }
+
+  @Test
+  void failedPipelineRecordsFallBackToSingleWrites() throws Exception {
+    connect(false);
+    FailingPipeline pipeline = new FailingPipeline(pipeline());
+    Redis driver = driver(false, pipeline);
+    driver.getLimiter().setLimits(1, 1, 1);
+    try {
+      driver.generate();
+    } finally {
+      driver.cleanup();
+    }
+
+    try (StatefulRedisModulesConnection<String, String> connection = manager.getModulesClient(USER).connect()) {
+      assertEquals(RECORDS, connection.sync().dbsize());
+      assertEquals("42", connection.sync().hget("customers:42", "id"));
+      assertEquals("43", connection.sync().hget("customers:43", "id"));
+    }
+    assertEquals(RECORDS / 2, pipeline.pipelined.get());
+    assertEquals(1, pipeline.peak.get());
+    assertEquals(0, driver.getDeadLetters().size());
+  }
+}
@@ -0,0 +1,50 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.db.DatabaseManager;
+import com.codelry.util.generator.db.ReferenceSnapshot;
+import com.codelry.util.generator.db.ReferenceStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceSnapshotTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void snapshotRoundTripsThroughMappedFile() throws Exception {
+    ReferenceStore store = DatabaseManager.getInstance().getStore();
+    Path path = directory.resolve("source.snapshot");
+    ReferenceSnapshot.write(store, path);
+
+    ReferenceStore mapped = ReferenceSnapshot.read(ReferenceSnapshot.map(path));
+    assertEquals(store.getNameCount(), mapped.getNameCount());
+    assertEquals(store.getAddressCount(), mapped.getAddressCount());
+    assertEquals(store.getProductCount(), mapped.getProductCount());
+    assertEquals(store.getStateCount(), mapped.getStateCount());
+    assertEquals(store.getLengths(), mapped.getLengths());
+
+    int last = store.getNameCount() - 1;
+    assertEquals(store.getNameRecord(0, last).emailAddress(), mapped.getNameRecord(0, last).emailAddress());
+    assertEquals(store.getAddressRecord(last % store.getAddressCount()).street,
+        mapped.getAddressRecord(last % store.getAddressCount()).street);
+    assertEquals(store.getProduct(0).price, mapped.getProduct(0).price);
+    for (int state = 0; state < store.getStateCount(); state++) {
+      assertEquals(store.getStateName(state), mapped.getStateName(state));
+      assertEquals(store.getStateRecordCount(state), mapped.getStateRecordCount(state));
+      assertEquals(store.getAreaCodeCount(state), mapped.getAreaCodeCount(state));
+    }
+  }
+
+  @Test
+  void rejectsForeignFiles() throws Exception {
+    Path path = directory.resolve("bad.snapshot");
+    Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrows(IllegalArgumentException.class, () -> ReferenceSnapshot.read(ReferenceSnapshot.map(path)));
+  }
+}
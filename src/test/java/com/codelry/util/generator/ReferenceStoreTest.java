@@ -0,0 +1,68 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.db.DatabaseManager;
+import com.codelry.util.generator.db.ReferenceStore;
+import com.codelry.util.generator.randomizer.AliasSampler;
+import com.codelry.util.generator.randomizer.Randomizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceStoreTest {
+
+  @Test
+  void aliasSamplerFollowsWeights() {
+    AliasSampler sampler = new AliasSampler(new double[]{0.1, 0.0, 0.6, 0.3});
+    SplittableRandom random = new SplittableRandom(7);
+    int[] counts = new int[4];
+    int draws = 200_000;
+    for (int i = 0; i < draws; i++) {
+      counts[sampler.sample(random)]++;
+    }
+    assertEquals(0, counts[1]);
+    assertEquals(0.1, counts[0] / (double) draws, 0.01);
+    assertEquals(0.6, counts[2] / (double) draws, 0.01);
+    assertEquals(0.3, counts[3] / (double) draws, 0.01);
+  }
+
+  @Test
+  void builderPoolsStringsAndGroupsStates() {
+    ReferenceStore store = ReferenceStore.builder()
+        .addName("Jane", "Doe", "F")
+        .addName("John", "Doe", "M")
+        .addZipCode("NY", "Albany", "12201", "0001")
+        .addZipCode("CA", "Fresno", "93650", "0002")
+        .addZipCode("NY", "Buffalo", "14201", "0003")
+        .addAreaCode("NY", "518")
+        .addStateWeight("NY", 1.0)
+        .addStateWeight("CA", 0.0)
+        .build();
+
+    assertEquals(2, store.getNameCount());
+    assertEquals("jane.doe@example.com", store.getNameRecord(0, 1).emailAddress());
+    int ny = store.getStateIndex("NY");
+    assertEquals(2, store.getStateRecordCount(ny));
+    assertEquals("Buffalo", store.getStateCity(ny, 1));
+    assertEquals(1, store.getAreaCodeCount(ny));
+    assertEquals(0, store.getAreaCodeCount(store.getStateIndex("TX")));
+    assertEquals(ny, store.sampleState(new SplittableRandom(1)));
+  }
+
+  @Test
+  void concurrentFirstAccessSharesOneStore() {
+    CompletableFuture<DatabaseManager> first = CompletableFuture.supplyAsync(DatabaseManager::getInstance);
+    CompletableFuture<DatabaseManager> second = CompletableFuture.supplyAsync(DatabaseManager::getInstance);
+    assertSame(first.join(), second.join());
+
+    Randomizer randomizer = new Randomizer();
+    Pattern phone = Pattern.compile("\\d{3}-555-\\d{4}");
+    for (int i = 0; i < 100; i++) {
+      String state = randomizer.randomAddressRecord().state;
+      assertTrue(phone.matcher(randomizer.randomPhoneNumber(state)).matches());
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.service.ReactiveRedisJsonTemplate.Dispatch;
+import com.codelry.util.generator.service.ShardSelector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardSelectorTest {
+
+  @Test
+  void roundRobinCyclesThroughShards() {
+    ShardSelector selector = new ShardSelector(3, Dispatch.ROUND_ROBIN);
+    List<Integer> shards = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      shards.add(selector.acquire());
+    }
+    assertEquals(List.of(0, 1, 2, 0, 1, 2), shards);
+    assertEquals(2, selector.getPending(0));
+  }
+
+  @Test
+  void leastPendingAvoidsBusyShards() {
+    ShardSelector selector = new ShardSelector(3, Dispatch.LEAST_PENDING);
+    int busy = selector.acquire();
+    selector.acquire();
+    selector.acquire();
+    selector.release(busy);
+    selector.acquire();
+    int[] held = {selector.getPending(0), selector.getPending(1), selector.getPending(2)};
+    assertArrayEquals(new int[] {1, 1, 1}, held);
+
+    int other = (busy + 2) % 3;
+    selector.release(other);
+    assertEquals(other, selector.acquire());
+  }
+
+  @Test
+  void pendingCountsReturnToZero() {
+    ShardSelector selector = new ShardSelector(4, Dispatch.LEAST_PENDING);
+    List<Integer> acquired = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      acquired.add(selector.acquire());
+    }
+    for (int shard = 0; shard < selector.size(); shard++) {
+      assertEquals(10, selector.getPending(shard));
+    }
+    acquired.forEach(selector::release);
+    for (int shard = 0; shard < selector.size(); shard++) {
+      assertEquals(0, selector.getPending(shard));
+    }
+  }
+
+  @Test
+  void singleShardAlwaysSelected() {
+    ShardSelector selector = new ShardSelector(1, Dispatch.LEAST_PENDING);
+    assertEquals(0, selector.acquire());
+    assertEquals(0, selector.acquire());
+    assertEquals(2, selector.getPending(0));
+  }
+}
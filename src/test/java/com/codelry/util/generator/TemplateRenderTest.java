@@ -0,0 +1,60 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.generator.DocIdGenerator;
+import com.codelry.util.generator.generator.Render;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateRenderTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final String TEMPLATE =
+      "{\"id\": \"{{ random_uuid() }}\", \"seq\": \"{{ index(4) }}\", \"first\": \"{{ FIRST_NAME }}\", \"qty\": {{ number(1, 10) }}}";
+
+  @Test
+  void bindingsAreExtractedOnce() {
+    Render render = new Render();
+    Set<String> first = render.extractBindings(TEMPLATE);
+    assertTrue(first.contains("FIRST_NAME"));
+    assertSame(first, render.extractBindings(TEMPLATE));
+  }
+
+  @Test
+  void rendersConcurrently() throws Exception {
+    Render render = new Render();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        results.add(executor.submit(() -> render.processTemplate(TEMPLATE, 0)));
+      }
+      Set<String> sequences = ConcurrentHashMap.newKeySet();
+      for (Future<String> result : results) {
+        JsonNode document = MAPPER.readTree(result.get(30, TimeUnit.SECONDS));
+        assertFalse(document.get("first").asText().isEmpty());
+        int qty = document.get("qty").asInt();
+        assertTrue(qty >= 1 && qty <= 10);
+        sequences.add(document.get("seq").asText());
+      }
+      assertEquals(200, sequences.size());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void documentIdUsesRenderedDocument() throws Exception {
+    JsonNode template = MAPPER.readTree("{\"sku\": \"SKU-{{ INDEX }}\", \"name\": \"{{ FULL_NAME }}\"}");
+    DocIdGenerator generator = new DocIdGenerator(12, "item::{{ field('sku') }}::{{ index(3) }}", template);
+    assertEquals("SKU-12", generator.getDocument().get("sku").asText());
+    assertEquals("item::SKU-12::012", generator.getId());
+  }
+}
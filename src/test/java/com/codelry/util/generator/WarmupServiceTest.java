@@ -0,0 +1,22 @@
+package com.codelry.util.generator;
+
+import com.codelry.util.generator.service.WarmupHealthIndicator;
+import com.codelry.util.generator.service.WarmupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmupServiceTest {
+
+  @Test
+  void readinessFollowsWarmupState() {
+    WarmupService service = new WarmupService(true, 200);
+    WarmupHealthIndicator indicator = new WarmupHealthIndicator(service);
+    assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+    service.warmup();
+    assertEquals(WarmupService.State.READY, service.getState(), service.getError());
+    assertEquals(Status.UP, indicator.health().getStatus());
+  }
+}